@@ -0,0 +1,138 @@
+package com.example.hitchhikingservice.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Closed-loop HTTP load against a running instance: each simulated client
+ * sends its next request as soon as the previous one completes, so the
+ * number of clients is the number of requests in flight. Requests are sent
+ * asynchronously, so 10k clients do not need 10k threads in this process.
+ *
+ * <p>To compare request execution modes, start the service once with
+ * {@code VIRTUAL_THREADS_ENABLED=false} and once with {@code true} (Java 21+)
+ * and run:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@concurrent-clients \
+ *     -Dload.url=http://localhost:8080/rides -Dload.clients=1000,2500,5000,10000
+ * </pre>
+ */
+public final class ConcurrentClientsBenchmark {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private ConcurrentClientsBenchmark() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        URI uri = URI.create(System.getProperty("load.url", "http://localhost:8080/rides"));
+        int[] clientLevels = Arrays.stream(System.getProperty("load.clients", "1000,2500,5000,10000").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration-seconds", 30));
+
+        ExecutorService callbacks = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(callbacks)
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+        System.out.printf("%-8s %10s %10s %10s %10s %10s %8s%n",
+                "clients", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        try {
+            for (int clients : clientLevels) {
+                new LoadRun(client, request, clients).run(warmup, duration).print();
+            }
+        } finally {
+            callbacks.shutdownNow();
+        }
+    }
+
+    private static final class LoadRun {
+
+        private final HttpClient client;
+        private final HttpRequest request;
+        private final int clients;
+        private final Histogram latencyMicros = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+        private volatile boolean recording;
+        private volatile boolean running = true;
+
+        LoadRun(HttpClient client, HttpRequest request, int clients) {
+            this.client = client;
+            this.request = request;
+            this.clients = clients;
+        }
+
+        Result run(Duration warmup, Duration duration) throws InterruptedException {
+            CountDownLatch stopped = new CountDownLatch(clients);
+            for (int i = 0; i < clients; i++) {
+                send(stopped);
+            }
+
+            Thread.sleep(warmup.toMillis());
+            latencyMicros.reset();
+            errors.reset();
+            recording = true;
+            long start = System.nanoTime();
+            Thread.sleep(duration.toMillis());
+            recording = false;
+            long elapsedNanos = System.nanoTime() - start;
+
+            running = false;
+            stopped.await(1, TimeUnit.MINUTES);
+            return new Result(clients, latencyMicros.copy(), errors.sum(), elapsedNanos);
+        }
+
+        private void send(CountDownLatch stopped) {
+            if (!running) {
+                stopped.countDown();
+                return;
+            }
+            long start = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (recording) {
+                            if (failure != null || response.statusCode() >= 500) {
+                                errors.increment();
+                            } else {
+                                long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+                                latencyMicros.recordValue(Math.min(micros, MAX_TRACKABLE_MICROS));
+                            }
+                        }
+                        send(stopped);
+                    });
+        }
+    }
+
+    private record Result(int clients, Histogram latencyMicros, long errors, long elapsedNanos) {
+
+        void print() {
+            double seconds = elapsedNanos / 1e9;
+            System.out.printf("%-8d %10.0f %10.1f %10.1f %10.1f %10.1f %8d%n",
+                    clients,
+                    latencyMicros.getTotalCount() / seconds,
+                    latencyMicros.getValueAtPercentile(50) / 1000.0,
+                    latencyMicros.getValueAtPercentile(99) / 1000.0,
+                    latencyMicros.getValueAtPercentile(99.9) / 1000.0,
+                    latencyMicros.getMaxValue() / 1000.0,
+                    errors);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.hitchhikingservice.benchmark;
+
+import com.example.hitchhikingservice.service.impl.CounterServiceImpl;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of recording a request in the visit counters from 8 threads at
+ * once, all on one route or each on its own. The counters are never flushed
+ * here, so no repository is needed; change the thread count with {@code -t}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class CounterServiceBenchmark {
+
+    private static final long LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(12);
+
+    private CounterServiceImpl counterService;
+
+    @Setup
+    public void setUp() {
+        counterService = new CounterServiceImpl(null, 256);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadRoute {
+
+        private static final AtomicInteger NEXT = new AtomicInteger();
+
+        private final String route = "GET /routes/" + NEXT.getAndIncrement();
+    }
+
+    @Benchmark
+    public void recordSameRoute() {
+        counterService.record("GET /rides", 200, LATENCY_NANOS);
+    }
+
+    @Benchmark
+    public void recordRoutePerThread(ThreadRoute threadRoute) {
+        counterService.record(threadRoute.route, 200, LATENCY_NANOS);
+    }
+}
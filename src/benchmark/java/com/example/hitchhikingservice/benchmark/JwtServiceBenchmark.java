@@ -0,0 +1,92 @@
+package com.example.hitchhikingservice.benchmark;
+
+import com.example.hitchhikingservice.model.entity.Role;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.security.AuthenticatedUser;
+import com.example.hitchhikingservice.security.JwtKeyProvider;
+import com.example.hitchhikingservice.security.JwtProperties;
+import com.example.hitchhikingservice.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-token cost of JWT verification. The {@code perCall*} benchmarks replay
+ * the previous implementation, which decoded the secret and built a new parser
+ * for every token; the others use the startup-initialized key and parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "60e6984caffc3b5bdad687a58a0945675372df28c961fd7708ba1641e882e092";
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties(SECRET, 86_400_000, JwtKeyProvider.DEFAULT_KEY_ID, null, null);
+        jwtService = new JwtService(properties, new JwtKeyProvider(properties));
+
+        user = new User();
+        user.setId(1L);
+        user.setEmail("user@example.com");
+        user.setRole(Role.USER);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public AuthenticatedUser parse() {
+        return jwtService.parseAuthenticatedUser(token);
+    }
+
+    @Benchmark
+    public String extractUserName() {
+        return jwtService.extractUserName(token);
+    }
+
+    @Benchmark
+    public Claims perCallKeyAndParser() {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String perCallKeyGenerateToken() {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.builder()
+                .subject(user.getEmail())
+                .claim("id", user.getId())
+                .claim("role", user.getRole())
+                .signWith(key, Jwts.SIG.HS256)
+                .compact();
+    }
+}
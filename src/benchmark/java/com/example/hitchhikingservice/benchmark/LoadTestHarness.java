@@ -0,0 +1,453 @@
+package com.example.hitchhikingservice.benchmark;
+
+import com.example.hitchhikingservice.HitchhikingServiceApplication;
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.model.entity.Role;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.security.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * End-to-end load test: boots the service on a random port against an
+ * in-memory H2 database in PostgreSQL mode (or {@code loadtest.datasource.url}),
+ * seeds users, rides and passengers, and runs closed-loop clients that each
+ * send their next request as soon as the previous one completes, picking the
+ * operation by the weights of {@code loadtest.mix}:
+ * <ul>
+ *   <li>{@code search}: {@code GET /rides} by route, half of the time for a given day;
+ *   <li>{@code login}: {@code POST /auth/login} as a random seeded user;
+ *   <li>{@code join}: {@code POST /rides/{id}/passenger/{userId}}, followed by the matching
+ *       {@code leave} when the seat was taken;
+ *   <li>{@code create}: {@code POST /rides/create}.
+ * </ul>
+ *
+ * <p>After the run it prints throughput and latency percentiles per
+ * operation, writes them to {@code loadtest.report}, and exits with status 1 when
+ * an operation's p99 exceeds its {@code loadtest.slo.p99-ms} threshold or more
+ * than {@code loadtest.slo.max-error-rate} of its requests failed. Rejections
+ * such as a full ride (4xx) are counted separately and are not failures.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@load-test -Dloadtest.clients=64 -Dloadtest.rides=20000
+ * </pre>
+ */
+public final class LoadTestHarness {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final String PASSWORD = "password";
+    private static final List<String> CITIES = List.of("Minsk", "Brest", "Grodno", "Gomel", "Vitebsk",
+            "Mogilev", "Vilnius", "Kaunas", "Riga", "Warsaw", "Bialystok", "Lublin", "Krakow", "Gdansk",
+            "Poznan", "Wroclaw", "Lodz", "Tallinn", "Daugavpils", "Pinsk");
+    private static final int DAYS = 14;
+    private static final int CHUNK = 1_000;
+
+    private LoadTestHarness() {
+        // Private constructor to prevent instantiation
+    }
+
+    enum Operation {
+        SEARCH, LOGIN, JOIN, LEAVE, CREATE;
+
+        String key() {
+            return name().toLowerCase();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 1_000);
+        int rides = Integer.getInteger("loadtest.rides", 10_000);
+        int passengersPerRide = Integer.getInteger("loadtest.passengers-per-ride", 2);
+        int clients = Integer.getInteger("loadtest.clients", 32);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+        Map<Operation, Integer> mix = parse(System.getProperty("loadtest.mix", "search=70,login=5,join=20,create=5"));
+        Map<Operation, Integer> p99SloMillis = parse(System.getProperty("loadtest.slo.p99-ms",
+                "search=100,login=1000,join=250,leave=250,create=250"));
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.slo.max-error-rate", "0.001"));
+        Path reportPath = Path.of(System.getProperty("loadtest.report", "target/load-test-report.json"));
+
+        String url = System.getProperty("loadtest.datasource.url", "jdbc:h2:mem:load-" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        Dataset dataset;
+        try (ConfigurableApplicationContext seeding = start(url)) {
+            dataset = seed(seeding, users, rides, passengersPerRide);
+        }
+
+        boolean passed;
+        // A fresh instance loads the seeded rides into its in-process read models, like a restarted replica.
+        try (ConfigurableApplicationContext context = start(url)) {
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort()
+                    + context.getEnvironment().getProperty("server.servlet.context-path", "");
+            System.out.printf("Seeded %d users and %d rides, running %d clients for %d s after %d s warmup%n",
+                    users, rides, clients, duration.toSeconds(), warmup.toSeconds());
+
+            LoadRun run = new LoadRun(baseUrl, dataset, mix, clients);
+            Map<Operation, Result> results = run.run(warmup, duration);
+            passed = report(results, p99SloMillis, maxErrorRate, reportPath);
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static ConfigurableApplicationContext start(String url) {
+        // Arguments rather than builder properties, which would not override application.properties.
+        return new SpringApplicationBuilder(HitchhikingServiceApplication.class)
+                .profiles("test")
+                .run(
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + System.getProperty("loadtest.datasource.username", "sa"),
+                        "--spring.datasource.password=" + System.getProperty("loadtest.datasource.password", ""),
+                        "--server.port=0",
+                        // Every client connects from this host, so the per-address login budget would cap logins.
+                        "--auth.throttle.ip.capacity=" + Integer.MAX_VALUE,
+                        "--auth.throttle.ip.per-minute=" + Integer.MAX_VALUE,
+                        "--logging.level.root=WARN");
+    }
+
+    private static Dataset seed(ConfigurableApplicationContext context, int userCount, int rideCount,
+                                int passengersPerRide) {
+        EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        JwtService jwtService = context.getBean(JwtService.class);
+        // One hash for everyone: encoding a password per user would dominate the seeding time.
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+
+        List<SeededUser> users = new ArrayList<>();
+        for (int start = 0; start < userCount; start += CHUNK) {
+            int first = start;
+            int count = Math.min(CHUNK, userCount - start);
+            transaction.executeWithoutResult(status -> {
+                EntityManager entityManager =
+                        EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+                for (int i = first; i < first + count; i++) {
+                    User user = new User();
+                    user.setName("load-" + runId + "-" + i);
+                    user.setEmail("load-" + runId + "-" + i + "@example.com");
+                    user.setPassword(passwordHash);
+                    user.setRole(Role.USER);
+                    entityManager.persist(user);
+                    users.add(new SeededUser(user.getId(), user.getEmail(), jwtService.generateToken(user)));
+                }
+            });
+        }
+
+        List<Long> rideIds = new ArrayList<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int start = 0; start < rideCount; start += CHUNK) {
+            int count = Math.min(CHUNK, rideCount - start);
+            transaction.executeWithoutResult(status -> {
+                EntityManager entityManager =
+                        EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+                for (int i = 0; i < count; i++) {
+                    Ride ride = new Ride();
+                    ride.setDriver(entityManager.getReference(User.class,
+                            users.get(random.nextInt(users.size())).id()));
+                    ride.setCar("Car");
+                    ride.setSeatsCount(4);
+                    ride.setDeparture(CITIES.get(random.nextInt(CITIES.size())));
+                    ride.setDestination(CITIES.get(random.nextInt(CITIES.size())));
+                    ride.setDepartureTime(randomDepartureTime(random));
+                    for (int p = 0; p < passengersPerRide; p++) {
+                        User passenger = entityManager.getReference(User.class,
+                                users.get(random.nextInt(users.size())).id());
+                        if (!ride.getPassengers().contains(passenger)) {
+                            ride.getPassengers().add(passenger);
+                        }
+                    }
+                    entityManager.persist(ride);
+                    rideIds.add(ride.getId());
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        return new Dataset(users, rideIds);
+    }
+
+    private static LocalDateTime randomDepartureTime(ThreadLocalRandom random) {
+        return LocalDate.now().plusDays(random.nextInt(1, DAYS + 1)).atStartOfDay()
+                .plusMinutes(random.nextInt(24 * 60));
+    }
+
+    private static boolean report(Map<Operation, Result> results, Map<Operation, Integer> p99SloMillis,
+                                  double maxErrorRate, Path reportPath) throws IOException {
+        System.out.printf("%-8s %10s %10s %10s %10s %10s %10s %8s %8s  %s%n",
+                "op", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "rejected", "errors", "SLO");
+        boolean passed = true;
+        Map<String, Object> report = new LinkedHashMap<>();
+        for (Map.Entry<Operation, Result> entry : results.entrySet()) {
+            Operation operation = entry.getKey();
+            Result result = entry.getValue();
+            Integer p99Slo = p99SloMillis.get(operation);
+            List<String> breaches = new ArrayList<>();
+            if (p99Slo != null && result.p99Millis() > p99Slo) {
+                breaches.add("p99 > " + p99Slo + " ms");
+            }
+            if (result.errorRate() > maxErrorRate) {
+                breaches.add("error rate > " + maxErrorRate);
+            }
+            passed &= breaches.isEmpty();
+
+            System.out.printf("%-8s %10d %10.1f %10.1f %10.1f %10.1f %10.1f %8d %8d  %s%n",
+                    operation.key(), result.requests(), result.throughput(), result.p50Millis(),
+                    result.p99Millis(), result.p999Millis(), result.maxMillis(), result.rejected(),
+                    result.errors(), breaches.isEmpty() ? "ok" : String.join(", ", breaches));
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", result.requests());
+            row.put("throughputPerSecond", result.throughput());
+            row.put("p50Ms", result.p50Millis());
+            row.put("p99Ms", result.p99Millis());
+            row.put("p999Ms", result.p999Millis());
+            row.put("maxMs", result.maxMillis());
+            row.put("rejected", result.rejected());
+            row.put("errors", result.errors());
+            row.put("p99SloMs", p99Slo);
+            row.put("breaches", breaches);
+            report.put(operation.key(), row);
+        }
+
+        if (reportPath.getParent() != null) {
+            Files.createDirectories(reportPath.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        System.out.println((passed ? "All SLOs met" : "SLO breached") + ", report written to " + reportPath);
+        return passed;
+    }
+
+    private static Map<Operation, Integer> parse(String weights) {
+        Map<Operation, Integer> parsed = new EnumMap<>(Operation.class);
+        for (String entry : weights.split(",")) {
+            String[] parts = entry.trim().split("=");
+            parsed.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return parsed;
+    }
+
+    private record SeededUser(Long id, String email, String token) {}
+
+    private record Dataset(List<SeededUser> users, List<Long> rideIds) {}
+
+    private static final class LoadRun {
+
+        private final String baseUrl;
+        private final Dataset dataset;
+        private final Operation[] weightedOperations;
+        private final int clients;
+        private final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+        private volatile boolean recording;
+        private volatile boolean running = true;
+
+        LoadRun(String baseUrl, Dataset dataset, Map<Operation, Integer> mix, int clients) {
+            this.baseUrl = baseUrl;
+            this.dataset = dataset;
+            this.clients = clients;
+            List<Operation> weighted = new ArrayList<>();
+            mix.forEach((operation, weight) -> {
+                for (int i = 0; i < weight; i++) {
+                    weighted.add(operation);
+                }
+            });
+            this.weightedOperations = weighted.toArray(Operation[]::new);
+            for (Operation operation : Operation.values()) {
+                recorders.put(operation, new Recorder());
+            }
+        }
+
+        Map<Operation, Result> run(Duration warmup, Duration duration) throws InterruptedException {
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                SeededUser user = dataset.users().get(i % dataset.users().size());
+                Thread thread = new Thread(() -> loop(user), "load-client-" + i);
+                thread.start();
+                threads.add(thread);
+            }
+
+            Thread.sleep(warmup.toMillis());
+            recording = true;
+            long start = System.nanoTime();
+            Thread.sleep(duration.toMillis());
+            recording = false;
+            long elapsedNanos = System.nanoTime() - start;
+
+            running = false;
+            for (Thread thread : threads) {
+                thread.join(TimeUnit.MINUTES.toMillis(1));
+            }
+
+            Map<Operation, Result> results = new EnumMap<>(Operation.class);
+            recorders.forEach((operation, recorder) -> {
+                if (recorder.latencyMicros.getTotalCount() + recorder.errors.sum() > 0) {
+                    results.put(operation, recorder.result(elapsedNanos));
+                }
+            });
+            return results;
+        }
+
+        private void loop(SeededUser user) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (running) {
+                switch (weightedOperations[random.nextInt(weightedOperations.length)]) {
+                    case SEARCH -> send(Operation.SEARCH, searchRequest(random));
+                    case LOGIN -> send(Operation.LOGIN, loginRequest(random));
+                    case JOIN -> joinAndLeave(user, random);
+                    case CREATE -> send(Operation.CREATE, createRequest(user, random));
+                    default -> throw new IllegalStateException("Not a weighted operation");
+                }
+            }
+        }
+
+        private HttpRequest searchRequest(ThreadLocalRandom random) {
+            StringBuilder query = new StringBuilder("/rides?departure=")
+                    .append(encode(CITIES.get(random.nextInt(CITIES.size()))))
+                    .append("&destination=")
+                    .append(encode(CITIES.get(random.nextInt(CITIES.size()))));
+            if (random.nextBoolean()) {
+                query.append("&date=").append(LocalDate.now().plusDays(random.nextInt(1, DAYS + 1)));
+            }
+            return request(query.toString()).GET().build();
+        }
+
+        private HttpRequest loginRequest(ThreadLocalRandom random) {
+            SeededUser user = dataset.users().get(random.nextInt(dataset.users().size()));
+            return request("/auth/login")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"email\":\"" + user.email() + "\",\"password\":\"" + PASSWORD + "\"}"))
+                    .build();
+        }
+
+        private void joinAndLeave(SeededUser user, ThreadLocalRandom random) {
+            Long rideId = dataset.rideIds().get(random.nextInt(dataset.rideIds().size()));
+            String path = "/rides/" + rideId + "/passenger/" + user.id();
+            int status = send(Operation.JOIN, authorized(request(path), user)
+                    .POST(HttpRequest.BodyPublishers.noBody()).build());
+            if (status == 200) {
+                send(Operation.LEAVE, authorized(request(path), user).DELETE().build());
+            }
+        }
+
+        private HttpRequest createRequest(SeededUser user, ThreadLocalRandom random) {
+            String body = "{\"car\":\"Car\",\"seatsCount\":4,\"departure\":\""
+                    + CITIES.get(random.nextInt(CITIES.size())) + "\",\"destination\":\""
+                    + CITIES.get(random.nextInt(CITIES.size())) + "\",\"departureTime\":\""
+                    + randomDepartureTime(random) + "\"}";
+            return authorized(request("/rides/create"), user)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        }
+
+        private static HttpRequest.Builder authorized(HttpRequest.Builder request, SeededUser user) {
+            return request.header("Authorization", "Bearer " + user.token());
+        }
+
+        /**
+         * Sends {@code request} and records its outcome, returning the status
+         * code or -1 if no response arrived.
+         */
+        private int send(Operation operation, HttpRequest request) {
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                return -1;
+            }
+            if (recording) {
+                recorders.get(operation).record(status, System.nanoTime() - start);
+            }
+            return status;
+        }
+
+        private static String encode(String value) {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class Recorder {
+
+        private final Histogram latencyMicros = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        void record(int status, long latencyNanos) {
+            if (status < 0 || status >= 500) {
+                errors.increment();
+                return;
+            }
+            if (status >= 400) {
+                rejected.increment();
+            }
+            long micros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+            latencyMicros.recordValue(Math.min(micros, MAX_TRACKABLE_MICROS));
+        }
+
+        Result result(long elapsedNanos) {
+            Histogram latencies = latencyMicros.copy();
+            long requests = latencies.getTotalCount() + errors.sum();
+            return new Result(
+                    requests,
+                    requests / (elapsedNanos / 1e9),
+                    latencies.getValueAtPercentile(50) / 1000.0,
+                    latencies.getValueAtPercentile(99) / 1000.0,
+                    latencies.getValueAtPercentile(99.9) / 1000.0,
+                    latencies.getMaxValue() / 1000.0,
+                    rejected.sum(),
+                    errors.sum()
+            );
+        }
+    }
+
+    private record Result(long requests, double throughput, double p50Millis, double p99Millis,
+                          double p999Millis, double maxMillis, long rejected, long errors) {
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.hitchhikingservice.benchmark;
+
+import com.example.hitchhikingservice.HitchhikingServiceApplication;
+import com.example.hitchhikingservice.model.dto.request.LoginRequestDto;
+import com.example.hitchhikingservice.model.dto.request.PageRequestDto;
+import com.example.hitchhikingservice.model.dto.response.AuthResponseDto;
+import com.example.hitchhikingservice.model.dto.response.PageResponseDto;
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.model.entity.Role;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.service.AuthService;
+import com.example.hitchhikingservice.service.RideService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Login throughput next to concurrent ride searches, through
+ * {@link AuthService#login} and {@link RideService#getAllRides} in one
+ * process. Logins verify BCrypt hashes of the configured strength on the
+ * password hashing pool, whose size is the parameter; the searches are
+ * answered from the upcoming ride index and only need CPU, so they show how
+ * much of it the logins leave over.
+ *
+ * <ul>
+ *   <li>{@code mixed}: four threads logging in and four searching;
+ *   <li>{@code searchOnly}: the same four searching threads alone, as the baseline.
+ * </ul>
+ *
+ * The login throttle is lifted so that only the hashing pool limits logins.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class LoginSearchBenchmark {
+
+    private static final List<String> CITIES = List.of("Minsk", "Brest", "Grodno", "Gomel", "Vitebsk",
+            "Mogilev", "Vilnius", "Kaunas", "Riga", "Warsaw");
+    private static final int USERS = 100;
+    private static final int RIDES = 10_000;
+    private static final int DAYS = 7;
+    private static final String PASSWORD = "password";
+    private static final PageRequestDto FIRST_PAGE = new PageRequestDto(null, 20);
+
+    @Param({"1", "4"})
+    private int hashingThreads;
+
+    private ConfigurableApplicationContext context;
+    private AuthService authService;
+    private RideService rideService;
+    private String day;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = "jdbc:h2:mem:login-" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+        LocalDate today = LocalDate.now();
+        try (ConfigurableApplicationContext seeding = start(url)) {
+            seed(seeding, today);
+        }
+        // A fresh instance loads the seeded rides into its upcoming ride index.
+        context = start(url);
+        authService = context.getBean(AuthService.class);
+        rideService = context.getBean(RideService.class);
+        day = today.plusDays(1).toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public AuthResponseDto login() {
+        int user = ThreadLocalRandom.current().nextInt(USERS);
+        return authService.login(new LoginRequestDto("user" + user + "@example.com", PASSWORD), "127.0.0.1");
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public PageResponseDto<RideResponseDto> search() {
+        return searchRoute();
+    }
+
+    @Benchmark
+    @Group("searchOnly")
+    @GroupThreads(4)
+    public PageResponseDto<RideResponseDto> searchAlone() {
+        return searchRoute();
+    }
+
+    private PageResponseDto<RideResponseDto> searchRoute() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return rideService.getAllRides(CITIES.get(random.nextInt(CITIES.size())),
+                CITIES.get(random.nextInt(CITIES.size())), day, FIRST_PAGE);
+    }
+
+    private ConfigurableApplicationContext start(String url) {
+        // Arguments rather than builder properties, which would not override application.properties.
+        String unlimited = String.valueOf(Integer.MAX_VALUE);
+        return new SpringApplicationBuilder(HitchhikingServiceApplication.class)
+                .profiles("test")
+                .run("--spring.datasource.url=" + url,
+                        "--server.port=0",
+                        "--auth.hashing.threads=" + hashingThreads,
+                        "--auth.throttle.ip.capacity=" + unlimited,
+                        "--auth.throttle.ip.per-minute=" + unlimited,
+                        "--auth.throttle.email.capacity=" + unlimited,
+                        "--auth.throttle.email.per-minute=" + unlimited,
+                        "--logging.level.root=WARN");
+    }
+
+    private static void seed(ConfigurableApplicationContext seeding, LocalDate today) {
+        EntityManagerFactory entityManagerFactory = seeding.getBean(EntityManagerFactory.class);
+        TransactionTemplate transaction = new TransactionTemplate(seeding.getBean(PlatformTransactionManager.class));
+        String passwordHash = seeding.getBean(PasswordEncoder.class).encode(PASSWORD);
+        SplittableRandom random = new SplittableRandom(42);
+
+        transaction.executeWithoutResult(status -> {
+            EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+            User[] users = new User[USERS];
+            for (int i = 0; i < USERS; i++) {
+                users[i] = new User();
+                users[i].setName("user" + i);
+                users[i].setEmail("user" + i + "@example.com");
+                users[i].setPassword(passwordHash);
+                users[i].setRole(Role.USER);
+                entityManager.persist(users[i]);
+            }
+            for (int i = 0; i < RIDES; i++) {
+                Ride ride = new Ride();
+                ride.setDriver(users[random.nextInt(USERS)]);
+                ride.setCar("Car");
+                ride.setSeatsCount(4);
+                ride.setDeparture(CITIES.get(random.nextInt(CITIES.size())));
+                ride.setDestination(CITIES.get(random.nextInt(CITIES.size())));
+                ride.setDepartureTime(today.plusDays(random.nextInt(DAYS)).atStartOfDay()
+                        .plusMinutes(random.nextInt(24 * 60)));
+                entityManager.persist(ride);
+            }
+        });
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.hitchhikingservice.benchmark;
+
+import com.example.hitchhikingservice.service.geo.GeoCircle;
+import com.example.hitchhikingservice.service.geo.RideGeoGrid;
+import com.example.hitchhikingservice.service.geo.RideGeoMatch;
+import com.example.hitchhikingservice.service.geo.RideLocation;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Radius queries against one million upcoming rides spread over an
+ * 8 x 18 degree region, roughly Poland, Belarus and the Baltics, so every
+ * query lands in a populated area.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class RideGeoGridBenchmark {
+
+    private static final int RIDES = 1_000_000;
+    private static final int QUERIES = 1024;
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+    @Param({"10", "50", "100"})
+    private double radiusKm;
+
+    private RideGeoGrid grid;
+    private GeoCircle[] from;
+    private GeoCircle[] to;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        grid = new RideGeoGrid(0.1);
+        for (long id = 1; id <= RIDES; id++) {
+            grid.put(new RideLocation(id, latitude(random), longitude(random), latitude(random), longitude(random),
+                    NOW.plusMinutes(random.nextInt(1, 7 * 24 * 60))));
+        }
+        from = new GeoCircle[QUERIES];
+        to = new GeoCircle[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            from[i] = new GeoCircle(latitude(random), longitude(random), radiusKm);
+            to[i] = new GeoCircle(latitude(random), longitude(random), radiusKm);
+        }
+    }
+
+    @Benchmark
+    public List<RideGeoMatch> findMatches() {
+        int query = next++ & (QUERIES - 1);
+        return grid.findMatches(from[query], to[query], NOW, 20);
+    }
+
+    private static double latitude(SplittableRandom random) {
+        return random.nextDouble(48, 56);
+    }
+
+    private static double longitude(SplittableRandom random) {
+        return random.nextDouble(14, 32);
+    }
+}
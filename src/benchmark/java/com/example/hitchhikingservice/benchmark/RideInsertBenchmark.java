@@ -0,0 +1,138 @@
+package com.example.hitchhikingservice.benchmark;
+
+import com.example.hitchhikingservice.HitchhikingServiceApplication;
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.model.entity.Role;
+import com.example.hitchhikingservice.model.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Time to insert 100k rides through JPA, committed in chunks of 1000.
+ * With {@code batchSize=1} every ride is its own INSERT round trip, as it was
+ * while ids came from an identity column; with 50 the pooled sequence hands
+ * out ids without a round trip and the inserts go out in JDBC batches.
+ *
+ * <p>By default the rides go to an in-memory H2 database behind H2's TCP
+ * server, so every statement is a real, if loopback, round trip. Pass
+ * {@code -Dbenchmark.datasource.url=...} (plus {@code .username} and
+ * {@code .password}) to measure against PostgreSQL instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class RideInsertBenchmark {
+
+    private static final int RIDES = 100_000;
+    private static final int CHUNK = 1_000;
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private Server server;
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private TransactionTemplate transaction;
+    private Long driverId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getProperty("benchmark.datasource.url");
+        if (url == null) {
+            server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+            url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:insert-" + UUID.randomUUID()
+                    + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE";
+        }
+        // Arguments rather than builder properties, which would not override application.properties.
+        context = new SpringApplicationBuilder(HitchhikingServiceApplication.class)
+                .profiles("test")
+                .run(
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + System.getProperty("benchmark.datasource.username", "sa"),
+                        "--spring.datasource.password=" + System.getProperty("benchmark.datasource.password", ""),
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--server.port=0",
+                        "--logging.level.root=WARN");
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        driverId = transaction.execute(status -> {
+            User driver = new User();
+            driver.setName("driver");
+            driver.setEmail("driver-" + UUID.randomUUID() + "@example.com");
+            driver.setPassword("password");
+            driver.setRole(Role.USER);
+            entityManager().persist(driver);
+            return driver.getId();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            EntityManager entityManager = entityManager();
+            entityManager.createQuery("DELETE FROM Ride r WHERE r.driver.id = :driverId")
+                    .setParameter("driverId", driverId)
+                    .executeUpdate();
+            entityManager.remove(entityManager.find(User.class, driverId));
+        });
+        context.close();
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Benchmark
+    public int insertRides() {
+        for (int start = 0; start < RIDES; start += CHUNK) {
+            int first = start;
+            transaction.executeWithoutResult(status -> {
+                EntityManager entityManager = entityManager();
+                User driver = entityManager.getReference(User.class, driverId);
+                for (int i = first; i < first + CHUNK; i++) {
+                    Ride ride = new Ride();
+                    ride.setDriver(driver);
+                    ride.setCar("Car " + i);
+                    ride.setSeatsCount(4);
+                    ride.setDeparture("Minsk");
+                    ride.setDestination("Brest");
+                    ride.setDepartureTime(DEPARTURE.plusMinutes(i));
+                    entityManager.persist(ride);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        return RIDES;
+    }
+
+    private EntityManager entityManager() {
+        return EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+    }
+}
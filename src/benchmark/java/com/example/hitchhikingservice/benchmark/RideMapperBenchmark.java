@@ -0,0 +1,81 @@
+package com.example.hitchhikingservice.benchmark;
+
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.model.entity.Role;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.service.mapper.RideMapper;
+import com.example.hitchhikingservice.service.mapper.UserMapper;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of building a ride response from a loaded ride, which every ride
+ * page and detail cache miss pays once per ride, by number of passengers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RideMapperBenchmark {
+
+    @Param({"0", "4", "50"})
+    private int passengers;
+
+    private RideMapper rideMapper;
+    private Ride ride;
+
+    @Setup
+    public void setUp() {
+        rideMapper = new RideMapper(new UserMapper());
+
+        ride = new Ride();
+        ride.setId(1L);
+        ride.setDriver(user(1));
+        ride.setCar("Volkswagen Passat");
+        ride.setSeatsCount(passengers + 1);
+        ride.setDeparture("Minsk");
+        ride.setDestination("Brest");
+        ride.setDepartureTime(LocalDateTime.of(2030, 1, 1, 8, 0));
+        ride.setComment("Two bags in the trunk at most");
+        ride.setDepartureLatitude(53.9);
+        ride.setDepartureLongitude(27.56);
+        ride.setDestinationLatitude(52.1);
+        ride.setDestinationLongitude(23.7);
+        List<User> riders = new ArrayList<>();
+        for (int i = 0; i < passengers; i++) {
+            riders.add(user(i + 2));
+        }
+        ride.setPassengers(riders);
+    }
+
+    @Benchmark
+    public RideResponseDto toRideResponseDto() {
+        return rideMapper.toRideResponseDto(ride);
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("user" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setPhone("+375290000" + id);
+        user.setRole(Role.USER);
+        return user;
+    }
+}
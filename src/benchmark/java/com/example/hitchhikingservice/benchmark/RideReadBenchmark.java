@@ -0,0 +1,147 @@
+package com.example.hitchhikingservice.benchmark;
+
+import com.example.hitchhikingservice.HitchhikingServiceApplication;
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.model.entity.Role;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.repository.RideRepository;
+import com.example.hitchhikingservice.service.mapper.RideMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Loading a page of ride responses: {@code entities} replays the previous
+ * read path, fetching managed rides with driver and passengers in a regular
+ * transaction and mapping them, so the commit flush dirty-checks every loaded
+ * entity; {@code projection} is the current read-only projection query.
+ * Run with {@code -prof gc} to compare allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RideReadBenchmark {
+
+    private static final int RIDES = 1_000;
+    private static final String ENTITY_QUERY = """
+            SELECT DISTINCT r FROM Ride r
+            JOIN FETCH r.driver
+            LEFT JOIN FETCH r.passengers
+            WHERE r.id IN :ids""";
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    @Param({"0", "4"})
+    private int passengers;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private TransactionTemplate transaction;
+    private RideRepository rideRepository;
+    private RideMapper rideMapper;
+    private final List<List<Long>> pages = new ArrayList<>();
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Arguments rather than builder properties, which would not override application.properties.
+        context = new SpringApplicationBuilder(HitchhikingServiceApplication.class)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:read-" + UUID.randomUUID()
+                                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                        "--server.port=0", "--logging.level.root=WARN");
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        rideRepository = context.getBean(RideRepository.class);
+        rideMapper = context.getBean(RideMapper.class);
+
+        List<Long> rideIds = transaction.execute(status -> {
+            EntityManager entityManager = entityManager();
+            List<User> users = new ArrayList<>();
+            for (int i = 0; i <= passengers; i++) {
+                User user = new User();
+                user.setName("user" + i);
+                user.setEmail("user" + i + "@example.com");
+                user.setPassword("password");
+                user.setRole(Role.USER);
+                entityManager.persist(user);
+                users.add(user);
+            }
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < RIDES; i++) {
+                Ride ride = new Ride();
+                ride.setDriver(users.get(0));
+                ride.setCar("Car " + i);
+                ride.setSeatsCount(4);
+                ride.setDeparture("Minsk");
+                ride.setDestination("Brest");
+                ride.setDepartureTime(LocalDateTime.of(2030, 1, 1, 8, 0).plusMinutes(i));
+                ride.setPassengers(new ArrayList<>(users.subList(1, users.size())));
+                entityManager.persist(ride);
+                ids.add(ride.getId());
+            }
+            return ids;
+        });
+        for (int start = 0; start + pageSize <= rideIds.size(); start += pageSize) {
+            pages.add(rideIds.subList(start, start + pageSize));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RideResponseDto> entities() {
+        List<Long> ids = nextPage();
+        return transaction.execute(status -> entityManager().createQuery(ENTITY_QUERY, Ride.class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .stream()
+                .map(rideMapper::toRideResponseDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<RideResponseDto> projection() {
+        return rideRepository.findResponsesByIdIn(nextPage());
+    }
+
+    private List<Long> nextPage() {
+        List<Long> page = pages.get(next);
+        next = (next + 1) % pages.size();
+        return page;
+    }
+
+    private EntityManager entityManager() {
+        return EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.hitchhikingservice.benchmark;
+
+import com.example.hitchhikingservice.HitchhikingServiceApplication;
+import com.example.hitchhikingservice.model.dto.request.PageRequestDto;
+import com.example.hitchhikingservice.model.dto.response.PageResponseDto;
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.model.entity.Role;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.service.RideService;
+import com.example.hitchhikingservice.service.cache.RideResponseCache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link RideService#getAllRides} over a synthetic dataset of rides between
+ * 20 cities departing over the next 30 days, on an in-memory H2 database.
+ * The rides are inserted by a first application context, so a second one
+ * loads them into its in-process read models at startup like a restarted
+ * service would.
+ *
+ * <ul>
+ *   <li>{@code upcomingDay}: a date in the upcoming ride index window, answered from memory;
+ *   <li>{@code laterDay}: a date beyond it, with the response caches emptied first, so the
+ *       page query and the ride loads go to the database;
+ *   <li>{@code laterDayCached}: the same search repeated, answered by the page and ride caches;
+ *   <li>{@code noDate}: only a departure filter, again with empty caches.
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class RideSearchBenchmark {
+
+    private static final List<String> CITIES = List.of("Minsk", "Brest", "Grodno", "Gomel", "Vitebsk",
+            "Mogilev", "Vilnius", "Kaunas", "Riga", "Warsaw", "Bialystok", "Lublin", "Krakow", "Gdansk",
+            "Poznan", "Wroclaw", "Lodz", "Tallinn", "Daugavpils", "Pinsk");
+    private static final int DAYS = 30;
+    private static final int CHUNK = 1_000;
+    private static final PageRequestDto FIRST_PAGE = new PageRequestDto(null, 20);
+
+    @Param({"10000", "100000"})
+    private int rides;
+
+    private ConfigurableApplicationContext context;
+    private RideService rideService;
+    private RideResponseCache rideResponseCache;
+    private String upcomingDay;
+    private String laterDay;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = "jdbc:h2:mem:search-" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+        LocalDate today = LocalDate.now();
+        try (ConfigurableApplicationContext seeding = start(url)) {
+            seed(seeding, today);
+        }
+        context = start(url);
+        rideService = context.getBean(RideService.class);
+        rideResponseCache = context.getBean(RideResponseCache.class);
+        upcomingDay = today.plusDays(2).toString();
+        laterDay = today.plusDays(DAYS - 5).toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PageResponseDto<RideResponseDto> upcomingDay() {
+        return rideService.getAllRides("minsk", "brest", upcomingDay, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public PageResponseDto<RideResponseDto> laterDay() {
+        rideResponseCache.invalidateAll();
+        return rideService.getAllRides("minsk", "brest", laterDay, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public PageResponseDto<RideResponseDto> laterDayCached() {
+        return rideService.getAllRides("minsk", "brest", laterDay, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public PageResponseDto<RideResponseDto> noDate() {
+        rideResponseCache.invalidateAll();
+        return rideService.getAllRides("minsk", null, null, FIRST_PAGE);
+    }
+
+    private static ConfigurableApplicationContext start(String url) {
+        // Arguments rather than builder properties, which would not override application.properties.
+        return new SpringApplicationBuilder(HitchhikingServiceApplication.class)
+                .profiles("test")
+                .run("--spring.datasource.url=" + url, "--server.port=0", "--logging.level.root=WARN");
+    }
+
+    private void seed(ConfigurableApplicationContext seeding, LocalDate today) {
+        EntityManagerFactory entityManagerFactory = seeding.getBean(EntityManagerFactory.class);
+        TransactionTemplate transaction = new TransactionTemplate(seeding.getBean(PlatformTransactionManager.class));
+        SplittableRandom random = new SplittableRandom(42);
+
+        List<Long> driverIds = transaction.execute(status -> {
+            EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                User driver = new User();
+                driver.setName("driver" + i);
+                driver.setEmail("driver" + i + "@example.com");
+                driver.setPassword("password");
+                driver.setRole(Role.USER);
+                entityManager.persist(driver);
+                ids.add(driver.getId());
+            }
+            return ids;
+        });
+
+        for (int start = 0; start < rides; start += CHUNK) {
+            int count = Math.min(CHUNK, rides - start);
+            transaction.executeWithoutResult(status -> {
+                EntityManager entityManager =
+                        EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+                for (int i = 0; i < count; i++) {
+                    Ride ride = new Ride();
+                    ride.setDriver(entityManager.getReference(User.class,
+                            driverIds.get(random.nextInt(driverIds.size()))));
+                    ride.setCar("Car");
+                    ride.setSeatsCount(4);
+                    ride.setDeparture(CITIES.get(random.nextInt(CITIES.size())));
+                    ride.setDestination(CITIES.get(random.nextInt(CITIES.size())));
+                    ride.setDepartureTime(today.plusDays(random.nextInt(DAYS)).atStartOfDay()
+                            .plusMinutes(random.nextInt(24 * 60)));
+                    entityManager.persist(ride);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+}
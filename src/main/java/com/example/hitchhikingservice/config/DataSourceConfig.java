@@ -0,0 +1,55 @@
+package com.example.hitchhikingservice.config;
+
+import com.example.hitchhikingservice.datasource.ReadYourWritesTracker;
+import com.example.hitchhikingservice.datasource.ReplicaPool;
+import com.example.hitchhikingservice.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Builds the application DataSource: the Hikari pool of {@code spring.datasource}
+ * behind a proxy that hands out lazy connections. The physical connection is
+ * only taken at the first statement, so a transaction answered from memory
+ * never takes one from the pool, and Hibernate gives it back after every
+ * transaction instead of holding it in an EntityManager kept open by
+ * open-in-view. With read replicas configured ({@link ReplicaRoutingConfig}),
+ * that first statement also decides whether the transaction runs on a replica.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                 ObjectProvider<ReplicaPool> replicaPool,
+                                 ObjectProvider<ReadYourWritesTracker> readYourWrites) {
+        ReplicaPool replicas = replicaPool.getIfAvailable();
+        DataSource target = replicas != null
+                ? new ReplicaRoutingDataSource(primary, replicas, readYourWrites.getObject())
+                : primary;
+        return new LazyConnectionDataSourceProxy(target);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.hitchhikingservice.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Component
+public class PaginationProperties {
+
+    @Value("${pagination.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    /**
+     * Returns the page size to use for a request, falling back to the default
+     * when none is given and never exceeding the server-side maximum.
+     */
+    public int resolvePageSize(Integer requestedSize) {
+        if (requestedSize == null) {
+            return defaultPageSize;
+        }
+        if (requestedSize <= 0) {
+            throw new IllegalArgumentException("Page size must be a positive number");
+        }
+        return Math.min(requestedSize, maxPageSize);
+    }
+}
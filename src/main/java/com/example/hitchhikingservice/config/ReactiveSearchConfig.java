@@ -0,0 +1,50 @@
+package com.example.hitchhikingservice.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * R2DBC access for the reactive ride search. The connection pool is kept out
+ * of the context on purpose: Spring Boot backs off its JDBC DataSource as soon
+ * as an R2DBC {@code ConnectionFactory} bean exists, and JPA must keep it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "reactive-search.enabled", havingValue = "true")
+public class ReactiveSearchConfig {
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveSearchConfig(@Value("${reactive-search.url}") String url,
+                                @Value("${spring.datasource.username:}") String username,
+                                @Value("${spring.datasource.password:}") String password,
+                                @Value("${reactive-search.pool-size:10}") int poolSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .maxSize(poolSize)
+                .maxAcquireTime(Duration.ofSeconds(2))
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveSearchDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    public void closePool() {
+        connectionPool.dispose();
+    }
+}
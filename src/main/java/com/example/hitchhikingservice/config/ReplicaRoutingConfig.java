@@ -0,0 +1,64 @@
+package com.example.hitchhikingservice.config;
+
+import com.example.hitchhikingservice.datasource.ReadYourWritesTracker;
+import com.example.hitchhikingservice.datasource.ReplicaPool;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sets up the replicas in {@code datasource.replicas.urls} and the tracking of
+ * recent writers; {@link DataSourceConfig} then routes read-only transactions
+ * to the replicas and everything else to the primary {@code spring.datasource}.
+ * Each transaction is routed on its own at its first statement, since
+ * connections are taken lazily and released after every transaction; holding
+ * one instead would let an EntityManager kept open by open-in-view reuse a
+ * replica connection for a later write.
+ */
+@Configuration
+@ConditionalOnExpression("!'${datasource.replicas.urls:}'.isBlank()")
+public class ReplicaRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPool replicaPool(@Value("${datasource.replicas.urls}") List<String> urls,
+                                   @Value("${datasource.replicas.username:${spring.datasource.username:}}")
+                                   String username,
+                                   @Value("${datasource.replicas.password:${spring.datasource.password:}}")
+                                   String password,
+                                   @Value("${datasource.replicas.pool-size:20}") int poolSize,
+                                   @Value("${datasource.replicas.connection-timeout-ms:1000}")
+                                   long connectionTimeoutMs,
+                                   @Value("${datasource.replicas.lag-query:}") String lagQuery,
+                                   @Value("${datasource.replicas.max-lag-ms:1000}") long maxLagMs,
+                                   @Value("${datasource.replicas.health-check-interval-ms:2000}")
+                                   long healthCheckIntervalMs) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setConnectionTimeout(connectionTimeoutMs);
+            replica.setReadOnly(true);
+            // Start even when a replica is down; the health check keeps it out of rotation.
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+        return new ReplicaPool(replicas, lagQuery.isBlank() ? ReplicaPool.POSTGRES_LAG_QUERY : lagQuery,
+                maxLagMs, (int) Math.max(1, healthCheckIntervalMs / 1000));
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${datasource.replicas.sticky-window-ms:5000}") long stickyWindowMs,
+            @Value("${datasource.replicas.sticky-max-users:100000}") long maxUsers) {
+        return new ReadYourWritesTracker(Duration.ofMillis(stickyWindowMs), maxUsers);
+    }
+}
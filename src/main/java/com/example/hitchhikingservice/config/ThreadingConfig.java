@@ -0,0 +1,27 @@
+package com.example.hitchhikingservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Reports the execution mode at startup. With
+ * {@code spring.threads.virtual.enabled=true} on Java 21+, Tomcat request
+ * handling and Boot's application task executor, which runs async MVC
+ * requests and background user deletions, use virtual threads; otherwise
+ * they use the bounded platform thread pools.
+ */
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+
+    public ThreadingConfig(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Serving requests and background work on virtual threads");
+        } else if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("Virtual threads requested but not available on Java {}, using platform threads",
+                    Runtime.version().feature());
+        }
+    }
+}
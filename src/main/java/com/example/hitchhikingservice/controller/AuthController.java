@@ -4,6 +4,7 @@ import com.example.hitchhikingservice.model.dto.request.AuthRequestDto;
 import com.example.hitchhikingservice.model.dto.request.LoginRequestDto;
 import com.example.hitchhikingservice.model.dto.response.AuthResponseDto;
 import com.example.hitchhikingservice.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,12 +18,14 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/register")
-    public ResponseEntity<AuthResponseDto> register(@RequestBody @Valid AuthRequestDto request) {
-        return ResponseEntity.ok(authService.register(request));
+    public ResponseEntity<AuthResponseDto> register(@RequestBody @Valid AuthRequestDto request,
+                                                    HttpServletRequest servletRequest) {
+        return ResponseEntity.ok(authService.register(request, servletRequest.getRemoteAddr()));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDto> login(@RequestBody @Valid LoginRequestDto request) {
-        return ResponseEntity.ok(authService.login(request));
+    public ResponseEntity<AuthResponseDto> login(@RequestBody @Valid LoginRequestDto request,
+                                                 HttpServletRequest servletRequest) {
+        return ResponseEntity.ok(authService.login(request, servletRequest.getRemoteAddr()));
     }
 }
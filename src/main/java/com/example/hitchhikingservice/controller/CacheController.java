@@ -0,0 +1,28 @@
+package com.example.hitchhikingservice.controller;
+
+import com.example.hitchhikingservice.model.dto.response.CacheStatsResponseDto;
+import com.example.hitchhikingservice.service.cache.RideResponseCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("caches")
+@RequiredArgsConstructor
+@Tag(name = "Caches", description = "Cache statistics")
+public class CacheController {
+
+    private final RideResponseCache rideResponseCache;
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get cache statistics",
+            description = "Returns size, hit and miss counts, hit rate and evictions per cache of this instance")
+    public ResponseEntity<Map<String, CacheStatsResponseDto>> getStats() {
+        return ResponseEntity.ok(rideResponseCache.getStats());
+    }
+}
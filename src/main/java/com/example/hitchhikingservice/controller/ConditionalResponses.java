@@ -0,0 +1,37 @@
+package com.example.hitchhikingservice.controller;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Answers conditional GETs. For a request with {@code If-None-Match} the
+ * current version is looked up first, which is cheap, and the request gets a
+ * {@code 304} without the body being built when its ETag matches. Otherwise
+ * the body is built from that version, or from {@code null} for
+ * unconditional requests, so cached parts older than it can be reloaded, and
+ * is tagged with the ETag of what it actually contains.
+ */
+final class ConditionalResponses {
+
+    private ConditionalResponses() {
+        // Private constructor to prevent instantiation
+    }
+
+    static <V, T> ResponseEntity<T> get(WebRequest request, Supplier<V> currentVersion,
+                                        Function<V, String> eTagOfVersion, Function<V, T> body,
+                                        Function<T, String> eTagOf) {
+        V version = null;
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            version = currentVersion.get();
+            if (request.checkNotModified(eTagOfVersion.apply(version))) {
+                // checkNotModified has already set the 304 status and the ETag header.
+                return null;
+            }
+        }
+        T value = body.apply(version);
+        return ResponseEntity.ok().eTag(eTagOf.apply(value)).body(value);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.hitchhikingservice.controller;
 
+import com.example.hitchhikingservice.model.dto.response.RouteStatsResponseDto;
 import com.example.hitchhikingservice.service.CounterService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -19,8 +20,10 @@ public class CounterController {
     private final CounterService counterService;
 
     @GetMapping("/count")
-    @Operation(summary = "Get visit count", description = "Returns request stats per URI")
-    public ResponseEntity<Map<String, Long>> getStats() {
+    @Operation(summary = "Get visit count",
+            description = "Returns request count and status codes per route across all replicas, "
+                    + "and latency percentiles of this instance")
+    public ResponseEntity<Map<String, RouteStatsResponseDto>> getStats() {
         return ResponseEntity.ok(counterService.getStats());
     }
 }
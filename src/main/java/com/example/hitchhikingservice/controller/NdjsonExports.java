@@ -0,0 +1,35 @@
+package com.example.hitchhikingservice.controller;
+
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Builds streamed NDJSON export responses, gzip-compressed when the client
+ * accepts it.
+ */
+final class NdjsonExports {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private NdjsonExports() {
+        // Private constructor to prevent instantiation
+    }
+
+    static ResponseEntity<StreamingResponseBody> export(String acceptEncoding, StreamingResponseBody body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null || !acceptEncoding.contains("gzip")) {
+            return response.body(body);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(out -> {
+            // Sync flush, so every flush of the writer reaches the client.
+            GZIPOutputStream gzip = new GZIPOutputStream(out, GZIP_BUFFER_SIZE, true);
+            body.writeTo(gzip);
+            gzip.finish();
+        });
+    }
+}
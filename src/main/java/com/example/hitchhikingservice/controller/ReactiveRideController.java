@@ -0,0 +1,58 @@
+package com.example.hitchhikingservice.controller;
+
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.service.ReactiveRideSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping(value = "reactive/rides", produces = MediaType.APPLICATION_NDJSON_VALUE)
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reactive-search.enabled", havingValue = "true")
+@Tag(name = "Reactive ride search", description = "Streams all matching rides as NDJSON")
+public class ReactiveRideController {
+
+    private final ReactiveRideSearchService reactiveRideSearchService;
+
+    @GetMapping
+    @Operation(summary = "Stream all rides with optional filtering")
+    public Flux<RideResponseDto> getAllRides(
+            @RequestParam(required = false) String departure,
+            @RequestParam(required = false) String destination,
+            @RequestParam(required = false) String date
+    ) {
+        return reactiveRideSearchService.getAllRides(departure, destination, date);
+    }
+
+    @GetMapping("/search/driver/id")
+    @Operation(summary = "Stream rides by driver ID")
+    public Flux<RideResponseDto> getRidesByDriverId(@RequestParam Long driverId) {
+        return reactiveRideSearchService.getRidesByDriverId(driverId);
+    }
+
+    @GetMapping("/search/driver/name")
+    @Operation(summary = "Stream rides by driver username")
+    public Flux<RideResponseDto> getRidesByDriverName(@RequestParam String driverName) {
+        return reactiveRideSearchService.getRidesByDriverName(driverName);
+    }
+
+    @GetMapping("/search/passenger/id")
+    @Operation(summary = "Stream rides by passenger ID")
+    public Flux<RideResponseDto> getRidesByPassengerId(@RequestParam Long passengerId) {
+        return reactiveRideSearchService.getRidesByPassengerId(passengerId);
+    }
+
+    @GetMapping("/search/passenger/name")
+    @Operation(summary = "Stream rides by passenger username")
+    public Flux<RideResponseDto> getRidesByPassengerName(@RequestParam String passengerName) {
+        return reactiveRideSearchService.getRidesByPassengerName(passengerName);
+    }
+}
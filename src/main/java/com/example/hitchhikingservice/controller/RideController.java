@@ -1,29 +1,39 @@
 package com.example.hitchhikingservice.controller;
 
+import com.example.hitchhikingservice.model.dto.request.NearbyRideSearchRequestDto;
+import com.example.hitchhikingservice.model.dto.request.PageRequestDto;
 import com.example.hitchhikingservice.model.dto.request.RideRequestDto;
+import com.example.hitchhikingservice.model.dto.response.BatchItemResponseDto;
+import com.example.hitchhikingservice.model.dto.response.PageResponseDto;
+import com.example.hitchhikingservice.model.dto.response.RideMatchResponseDto;
 import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
-import com.example.hitchhikingservice.security.JwtService;
+import com.example.hitchhikingservice.security.AuthenticatedUser;
+import com.example.hitchhikingservice.service.ExportService;
 import com.example.hitchhikingservice.service.RideService;
-import com.example.hitchhikingservice.service.mapper.RideMapper;
+import com.example.hitchhikingservice.utils.RideETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.validation.annotation.Validated;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("rides")
@@ -32,83 +42,139 @@ import org.springframework.web.bind.annotation.RestController;
 public class RideController {
 
     private final RideService rideService;
-    private final JwtService jwtService;
+    private final ExportService exportService;
 
     @GetMapping
-    @Operation(summary = "Get all rides with optional filtering")
-    public ResponseEntity<List<RideResponseDto>> getAllRides(
+    @Operation(summary = "Get all rides with optional filtering",
+            description = "Supports If-None-Match with the ETag of a previous response")
+    public ResponseEntity<PageResponseDto<RideResponseDto>> getAllRides(
             @RequestParam(required = false) String departure,
             @RequestParam(required = false) String destination,
-            @RequestParam(required = false) String date
+            @RequestParam(required = false) String date,
+            @ParameterObject PageRequestDto pageRequest,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(rideService.getAllRides(departure, destination, date));
+        return ConditionalResponses.get(request,
+                () -> rideService.getAllRidesVersions(departure, destination, date, pageRequest),
+                RideETags::of,
+                versions -> rideService.getAllRides(departure, destination, date, pageRequest, versions),
+                RideETags::of);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all rides as NDJSON",
+            description = "Streams rides in id order; pass the id of the last ride received as afterId to resume")
+    public ResponseEntity<StreamingResponseBody> exportRides(
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return NdjsonExports.export(acceptEncoding, out -> exportService.exportRides(afterId, out));
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get rides by IDs",
+            description = "Returns one result per requested id, in request order, with an error for unknown ids")
+    public ResponseEntity<List<BatchItemResponseDto<RideResponseDto>>> getRidesByIds(
+            @RequestParam List<Long> ids
+    ) {
+        return ResponseEntity.ok(rideService.getRidesByIds(ids));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get ride by ID")
-    public ResponseEntity<RideResponseDto> getRideById(@PathVariable Long id) {
-        return ResponseEntity.ok(rideService.getRideById(id));
+    @Operation(summary = "Get ride by ID",
+            description = "Supports If-None-Match with the ETag of a previous response")
+    public ResponseEntity<RideResponseDto> getRideById(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.get(request,
+                () -> rideService.getRideVersion(id),
+                version -> RideETags.ofRide(id, version),
+                version -> rideService.getRideById(id, version),
+                RideETags::of);
     }
 
     @GetMapping("/search/driver/id")
     @Operation(summary = "Get ride by driver ID")
-    public ResponseEntity<List<RideResponseDto>> getRidesByDriverId(
-            @RequestParam Long driverId
+    public ResponseEntity<PageResponseDto<RideResponseDto>> getRidesByDriverId(
+            @RequestParam Long driverId,
+            @ParameterObject PageRequestDto pageRequest
     ) {
-        return ResponseEntity.ok(rideService.getRidesByDriverId(driverId));
+        return ResponseEntity.ok(rideService.getRidesByDriverId(driverId, pageRequest));
     }
 
     @GetMapping("/search/driver/name")
     @Operation(summary = "Get ride by driver username")
-    public ResponseEntity<List<RideResponseDto>> getRidesByDriverName(
-            @RequestParam String driverName
+    public ResponseEntity<PageResponseDto<RideResponseDto>> getRidesByDriverName(
+            @RequestParam String driverName,
+            @ParameterObject PageRequestDto pageRequest
     ) {
-        return ResponseEntity.ok(rideService.getRidesByDriverName(driverName));
+        return ResponseEntity.ok(rideService.getRidesByDriverName(driverName, pageRequest));
     }
 
     @GetMapping("/search/passenger/id")
     @Operation(summary = "Get ride by passenger ID")
-    public ResponseEntity<List<RideResponseDto>> getRidesByPassengerId(
-            @RequestParam Long passengerId
+    public ResponseEntity<PageResponseDto<RideResponseDto>> getRidesByPassengerId(
+            @RequestParam Long passengerId,
+            @ParameterObject PageRequestDto pageRequest
     ) {
-        return ResponseEntity.ok(rideService.getRidesByPassengerId(passengerId));
+        return ResponseEntity.ok(rideService.getRidesByPassengerId(passengerId, pageRequest));
     }
 
     @GetMapping("/search/passenger/name")
     @Operation(summary = "Get ride by passenger username")
-    public ResponseEntity<List<RideResponseDto>> getRidesByPassengerName(
-            @RequestParam String passengerName
+    public ResponseEntity<PageResponseDto<RideResponseDto>> getRidesByPassengerName(
+            @RequestParam String passengerName,
+            @ParameterObject PageRequestDto pageRequest
     ) {
-        return ResponseEntity.ok(rideService.getRidesByPassengerName(passengerName));
+        return ResponseEntity.ok(rideService.getRidesByPassengerName(passengerName, pageRequest));
+    }
+
+    @GetMapping("/search/location")
+    @Operation(summary = "Search rides by departure or destination, best matches first")
+    public ResponseEntity<List<RideResponseDto>> searchRidesByLocation(
+            @RequestParam String query,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(rideService.searchRidesByLocation(query, size));
+    }
+
+    @GetMapping("/search/nearby")
+    @Operation(summary = "Search upcoming rides starting near one point and ending near another",
+            description = "Matches rides with coordinates by radius around both points, smallest detour first")
+    public ResponseEntity<List<RideMatchResponseDto>> searchRidesNearby(
+            @Valid @ParameterObject NearbyRideSearchRequestDto request
+    ) {
+        return ResponseEntity.ok(rideService.searchRidesNearby(request));
     }
 
     @PostMapping("/create")
     @Operation(summary = "Create ride")
     public ResponseEntity<RideResponseDto> createRide(
             @Valid @RequestBody RideRequestDto rideRequestDto,
-            Authentication authentication
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        if (authentication == null || authentication.getCredentials() == null) {
-            throw new RuntimeException("Authentication or token is missing");
-        }
-        String jwtToken = authentication.getCredentials().toString();
-        Long driverId = jwtService.getUserIdFromToken(jwtToken);
+        Long driverId = requireUserId(currentUser);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(rideService.createRide(rideRequestDto, driverId));
     }
 
+    @PostMapping("/create/batch")
+    @Operation(summary = "Create rides in one transaction",
+            description = "Invalid rides are reported at their index and do not prevent the others from being created")
+    public ResponseEntity<List<BatchItemResponseDto<RideResponseDto>>> createRides(
+            @RequestBody List<RideRequestDto> rideRequestDtos,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
+    ) {
+        Long driverId = requireUserId(currentUser);
+        return ResponseEntity.ok(rideService.createRides(rideRequestDtos, driverId));
+    }
+
     @PutMapping("/update/{id}")
     @Operation(summary = "Update ride")
     public ResponseEntity<RideResponseDto> updateRide(
             @PathVariable Long id,
             @Valid @RequestBody RideRequestDto rideRequestDto,
-            Authentication authentication
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        if (authentication == null || authentication.getCredentials() == null) {
-            throw new RuntimeException("Authentication or token is missing");
-        }
-        String jwtToken = authentication.getCredentials().toString();
-        Long userId = jwtService.getUserIdFromToken(jwtToken);
+        Long userId = requireUserId(currentUser);
         return ResponseEntity.ok(rideService.updateRide(id, rideRequestDto, userId));
     }
 
@@ -116,13 +182,9 @@ public class RideController {
     @Operation(summary = "Delete ride")
     public ResponseEntity<Void> deleteRide(
             @PathVariable Long id,
-            Authentication authentication
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        if (authentication == null || authentication.getCredentials() == null) {
-            throw new RuntimeException("Authentication or token is missing");
-        }
-        String jwtToken = authentication.getCredentials().toString();
-        Long userId = jwtService.getUserIdFromToken(jwtToken);
+        Long userId = requireUserId(currentUser);
         rideService.deleteRideById(id, userId);
         return ResponseEntity.noContent().build();
     }
@@ -132,13 +194,9 @@ public class RideController {
     public ResponseEntity<Void> addPassengerToRide(
             @PathVariable Long rideId,
             @PathVariable Long userId,
-            Authentication authentication
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        if (authentication == null || authentication.getCredentials() == null) {
-            throw new RuntimeException("Authentication or token is missing");
-        }
-        String jwtToken = authentication.getCredentials().toString();
-        Long currentUserId = jwtService.getUserIdFromToken(jwtToken);
+        Long currentUserId = requireUserId(currentUser);
         if (!currentUserId.equals(userId)) {
             throw new RuntimeException("You can only join yourself as a passenger");
         }
@@ -151,17 +209,20 @@ public class RideController {
     public ResponseEntity<Void> removePassengerFromRide(
             @PathVariable Long rideId,
             @PathVariable Long userId,
-            Authentication authentication
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        if (authentication == null || authentication.getCredentials() == null) {
-            throw new RuntimeException("Authentication or token is missing");
-        }
-        String jwtToken = authentication.getCredentials().toString();
-        Long currentUserId = jwtService.getUserIdFromToken(jwtToken);
+        Long currentUserId = requireUserId(currentUser);
         if (!currentUserId.equals(userId)) {
             throw new RuntimeException("You can only leave yourself from a ride");
         }
         rideService.removePassengerFromRide(rideId, userId);
         return ResponseEntity.noContent().build();
     }
+
+    private static Long requireUserId(AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            throw new RuntimeException("Authentication or token is missing");
+        }
+        return currentUser.id();
+    }
 }
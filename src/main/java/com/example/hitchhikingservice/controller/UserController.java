@@ -1,25 +1,36 @@
 package com.example.hitchhikingservice.controller;
 
+import com.example.hitchhikingservice.model.dto.request.PageRequestDto;
 import com.example.hitchhikingservice.model.dto.request.UserRequestDto;
+import com.example.hitchhikingservice.model.dto.response.BatchItemResponseDto;
+import com.example.hitchhikingservice.model.dto.response.PageResponseDto;
+import com.example.hitchhikingservice.model.dto.response.UserDeletionStatusDto;
 import com.example.hitchhikingservice.model.dto.response.UserResponseDto;
+import com.example.hitchhikingservice.security.AuthenticatedUser;
+import com.example.hitchhikingservice.service.ExportService;
 import com.example.hitchhikingservice.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("users")
@@ -28,14 +39,36 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserController {
 
     private final UserService userService;
+    private final ExportService exportService;
 
     @GetMapping
     @Operation(summary = "Get all users")
-    public ResponseEntity<List<UserResponseDto>> getAllUsers() {
-        List<UserResponseDto> users = userService.getAllUsers();
+    public ResponseEntity<PageResponseDto<UserResponseDto>> getAllUsers(
+            @ParameterObject PageRequestDto pageRequest
+    ) {
+        PageResponseDto<UserResponseDto> users = userService.getAllUsers(pageRequest);
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all users as NDJSON",
+            description = "Streams users in id order; pass the id of the last user received as afterId to resume")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return NdjsonExports.export(acceptEncoding, out -> exportService.exportUsers(afterId, out));
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get users by IDs",
+            description = "Returns one result per requested id, in request order, with an error for unknown ids")
+    public ResponseEntity<List<BatchItemResponseDto<UserResponseDto>>> getUsersByIds(
+            @RequestParam List<Long> ids
+    ) {
+        return ResponseEntity.ok(userService.getUsersByIds(ids));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID")
     public ResponseEntity<UserResponseDto> getUserById(
@@ -47,10 +80,10 @@ public class UserController {
 
     @GetMapping("/me")
     @Operation(summary = "Get current user's profile")
-    public ResponseEntity<UserResponseDto> getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String userEmail = authentication.getName();
-        UserResponseDto user = userService.getUserByEmail(userEmail);
+    public ResponseEntity<UserResponseDto> getCurrentUser(
+            @AuthenticationPrincipal AuthenticatedUser currentUser
+    ) {
+        UserResponseDto user = userService.getUserById(currentUser.id());
         return ResponseEntity.ok(user);
     }
 
@@ -65,12 +98,26 @@ public class UserController {
     }
 
     @DeleteMapping("/delete/{id}")
-    @Operation(summary = "Delete user")
-    public ResponseEntity<Void> deleteUser(
-            @PathVariable Long id
+    @Operation(summary = "Delete user",
+            description = "With async=true the deletion runs in the background and its status is returned; "
+                    + "poll /users/delete/{id}/status for progress")
+    public ResponseEntity<UserDeletionStatusDto> deleteUser(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean async
     ) {
+        if (async) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(userService.startUserDeletion(id));
+        }
         userService.deleteUserById(id);
         return ResponseEntity.noContent().build();
     }
+
+    @GetMapping("/delete/{id}/status")
+    @Operation(summary = "Get the status of a background user deletion")
+    public ResponseEntity<UserDeletionStatusDto> getUserDeletionStatus(
+            @PathVariable Long id
+    ) {
+        return ResponseEntity.ok(userService.getUserDeletionStatus(id));
+    }
 }
 
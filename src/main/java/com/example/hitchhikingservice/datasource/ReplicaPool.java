@@ -0,0 +1,126 @@
+package com.example.hitchhikingservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * The read replicas behind {@link ReplicaRoutingDataSource}, each with its
+ * own connection pool. A scheduled check runs the lag query on every replica;
+ * a replica receives reads only while its last check succeeded and reported
+ * a lag of at most {@code max-lag-ms}. Until the first check, and whenever no
+ * replica qualifies, reads go to the primary.
+ */
+@Slf4j
+public class ReplicaPool implements AutoCloseable {
+
+    /**
+     * Milliseconds since the last replayed transaction, or 0 when everything
+     * received has been replayed or the database is not a standby.
+     */
+    public static final String POSTGRES_LAG_QUERY = "SELECT COALESCE(CASE"
+            + " WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END, 0)";
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagMs;
+    private final int checkTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(List<HikariDataSource> dataSources, String lagQuery, long maxLagMs,
+                       int checkTimeoutSeconds) {
+        this.replicas = dataSources.stream().map(Replica::new).toList();
+        this.lagQuery = lagQuery;
+        this.maxLagMs = maxLagMs;
+        this.checkTimeoutSeconds = checkTimeoutSeconds;
+    }
+
+    /**
+     * Returns a connection to one of the usable replicas, round robin, or
+     * {@code null} when there is none. A replica that fails to hand out a
+     * connection is taken out of rotation until its next successful check.
+     */
+    public Connection getConnection() {
+        List<Replica> usable = replicas.stream().filter(this::isUsable).toList();
+        int start = next.getAndIncrement();
+        for (int i = 0; i < usable.size(); i++) {
+            Replica replica = usable.get(Math.floorMod(start + i, usable.size()));
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.up = false;
+                log.warn("Replica {} is unavailable, reading from the primary until it recovers",
+                        replica.name(), e);
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval-ms:2000}")
+    public synchronized void checkReplicas() {
+        replicas.forEach(this::check);
+    }
+
+    public int usableCount() {
+        return (int) replicas.stream().filter(this::isUsable).count();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private void check(Replica replica) {
+        boolean wasUsable = isUsable(replica);
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(checkTimeoutSeconds);
+            try (ResultSet result = statement.executeQuery(lagQuery)) {
+                result.next();
+                replica.lagMs = result.getLong(1);
+                replica.up = true;
+            }
+        } catch (SQLException e) {
+            replica.up = false;
+            if (wasUsable) {
+                log.warn("Replica {} failed its health check, reading from the primary until it recovers",
+                        replica.name(), e);
+            }
+            return;
+        }
+        if (isUsable(replica) != wasUsable) {
+            if (wasUsable) {
+                log.warn("Replica {} lags {} ms behind the primary, more than the allowed {} ms",
+                        replica.name(), replica.lagMs, maxLagMs);
+            } else {
+                log.info("Replica {} is back in rotation, lagging {} ms", replica.name(), replica.lagMs);
+            }
+        }
+    }
+
+    private boolean isUsable(Replica replica) {
+        return replica.up && replica.lagMs <= maxLagMs;
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean up;
+        private volatile long lagMs;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        String name() {
+            return dataSource.getPoolName();
+        }
+    }
+}
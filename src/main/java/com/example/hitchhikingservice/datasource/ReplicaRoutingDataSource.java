@@ -0,0 +1,47 @@
+package com.example.hitchhikingservice.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out replica connections to read-only transactions and primary
+ * connections to everything else. A read-only transaction still gets the
+ * primary when the current user wrote recently or no replica is usable.
+ *
+ * <p>The decision uses the transaction that is active when the connection is
+ * taken, so this data source must sit behind a lazy connection proxy that
+ * defers taking it until the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaPool replicas;
+    private final ReadYourWritesTracker readYourWrites;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaPool replicas,
+                                    ReadYourWritesTracker readYourWrites) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !readYourWrites.mustReadFromPrimary()) {
+            Connection connection = replicas.getConnection();
+            if (connection != null) {
+                return connection;
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Connections use the configured credentials");
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.hitchhikingservice.interceptor;
+
+import com.example.hitchhikingservice.service.CounterService;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records every controller request under its route template (for example
+ * {@code GET /rides/{id}}) rather than the literal URI, so the number of
+ * tracked routes is bounded by the number of mappings. Runs after exception
+ * handlers, so error responses are counted with their final status code.
+ * Asynchronous requests, such as the NDJSON exports, are timed from the
+ * original dispatch to the completion of the async re-dispatch.
+ */
+@Component
+@RequiredArgsConstructor
+public class VisitCounterInterceptor implements HandlerInterceptor {
+
+    private static final String START_NANOS = VisitCounterInterceptor.class.getName() + ".startNanos";
+    private static final String STATS_ROUTE = "/visits/count";
+
+    private final CounterService counterService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            request.setAttribute(START_NANOS, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object startNanos = request.getAttribute(START_NANOS);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod) || startNanos == null || pattern == null
+                || STATS_ROUTE.equals(pattern)) {
+            return;
+        }
+        long latencyNanos = System.nanoTime() - (long) startNanos;
+        counterService.record(request.getMethod() + " " + pattern, response.getStatus(), latencyNanos);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.hitchhikingservice.migration;
+
+import com.example.hitchhikingservice.utils.LocationNormalizer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the normalized location columns of existing rides. Done in Java so the
+ * stored values are produced by exactly the same {@link LocationNormalizer}
+ * that normalizes new rides and search input.
+ */
+@Component
+public class BackfillNormalizedLocationsMigration implements JavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("3");
+    }
+
+    @Override
+    public String getDescription() {
+        return "backfill normalized locations";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE rides SET departure_normalized = ?, destination_normalized = ? WHERE id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rides = select.executeQuery("SELECT id, departure, destination FROM rides")) {
+                int pending = 0;
+                while (rides.next()) {
+                    update.setString(1, LocationNormalizer.normalize(rides.getString("departure")));
+                    update.setString(2, LocationNormalizer.normalize(rides.getString("destination")));
+                    update.setLong(3, rides.getLong("id"));
+                    update.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    update.executeBatch();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.hitchhikingservice.migration;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+/**
+ * Moves the ids of a table from its identity column to a sequence, which
+ * Hibernate allocates from in blocks so inserts can be batched. The pooled
+ * optimizer treats each sequence value as the last id of a block, so the
+ * sequence starts one block above the highest existing id and existing ids
+ * are kept. Done in Java because that start value has to be read first.
+ */
+abstract class IdSequenceMigration implements JavaMigration {
+
+    /**
+     * Must match {@code allocationSize} of the entity id generators.
+     */
+    static final int ALLOCATION_SIZE = 50;
+
+    private final String version;
+    private final String table;
+    private final String sequence;
+
+    IdSequenceMigration(String version, String table, String sequence) {
+        this.version = version;
+        this.table = table;
+        this.sequence = sequence;
+    }
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion(version);
+    }
+
+    @Override
+    public String getDescription() {
+        return table + " id sequence";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            long maxId;
+            try (ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+                result.next();
+                maxId = result.getLong(1);
+            }
+            statement.execute("CREATE SEQUENCE " + sequence + " START WITH " + (maxId + ALLOCATION_SIZE)
+                    + " INCREMENT BY " + ALLOCATION_SIZE);
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY");
+        }
+    }
+}
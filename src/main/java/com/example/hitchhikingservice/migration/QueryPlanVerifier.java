@@ -0,0 +1,86 @@
+package com.example.hitchhikingservice.migration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks at startup that every hot repository query can be answered from an
+ * index. Each query is explained with sequential scans disabled, so a plan
+ * that still contains a "Seq Scan" means the supporting index is missing or
+ * unusable. Runs only against PostgreSQL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "db.plan-verification.enabled", havingValue = "true")
+public class QueryPlanVerifier {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final String SEQ_SCAN = "\"Seq Scan\"";
+
+    private static final Map<String, String> QUERIES = Map.of(
+            "rides keyset page",
+            "SELECT id FROM rides WHERE departure_time > now() "
+                    + "OR (departure_time = now() AND id > 0) ORDER BY departure_time, id LIMIT 21",
+            "rides by driver",
+            "SELECT id FROM rides WHERE driver_id = 1 ORDER BY departure_time, id LIMIT 21",
+            "rides by passenger",
+            "SELECT ride_id FROM ride_passengers WHERE user_id = 1",
+            "passengers of rides",
+            "SELECT user_id FROM ride_passengers WHERE ride_id IN (1, 2, 3)",
+            "users by name",
+            "SELECT id FROM users WHERE name = 'name'",
+            "rides by departure",
+            "SELECT id FROM rides WHERE departure_normalized LIKE '%minsk%'",
+            "rides by destination",
+            "SELECT id FROM rides WHERE destination_normalized LIKE '%minsk%'"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${db.plan-verification.fail-on-seq-scan:false}")
+    private boolean failOnSeqScan;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                JdbcUtils.commonDatabaseName(connection.getMetaData().getDatabaseProductName()));
+        if (!POSTGRESQL.equals(product)) {
+            log.debug("Skipping query plan verification for {}", product);
+            return;
+        }
+
+        List<String> violations = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            List<String> found = new ArrayList<>();
+            QUERIES.forEach((name, sql) -> {
+                String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+                if (plan != null && plan.contains(SEQ_SCAN)) {
+                    found.add(name);
+                    log.warn("Query '{}' falls back to a sequential scan: {}", name, plan);
+                }
+            });
+            status.setRollbackOnly();
+            return found;
+        });
+
+        if (violations == null || violations.isEmpty()) {
+            log.info("Query plan verification passed for {} queries", QUERIES.size());
+        } else if (failOnSeqScan) {
+            throw new IllegalStateException("Queries without a usable index: " + violations);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.hitchhikingservice.migration;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class RideIdSequenceMigration extends IdSequenceMigration {
+
+    public RideIdSequenceMigration() {
+        super("10", "rides", "rides_seq");
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.hitchhikingservice.migration;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserIdSequenceMigration extends IdSequenceMigration {
+
+    public UserIdSequenceMigration() {
+        super("11", "users", "users_seq");
+    }
+}
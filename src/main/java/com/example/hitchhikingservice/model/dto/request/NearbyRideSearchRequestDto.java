@@ -0,0 +1,40 @@
+package com.example.hitchhikingservice.model.dto.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record NearbyRideSearchRequestDto(
+        @NotNull(message = "From latitude must not be null")
+        @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+        @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+        Double fromLatitude,
+
+        @NotNull(message = "From longitude must not be null")
+        @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+        @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+        Double fromLongitude,
+
+        @NotNull(message = "From radius must not be null")
+        @Positive(message = "Radius must be a positive number")
+        @DecimalMax(value = "100.0", message = "Radius must not exceed 100 km")
+        Double fromRadiusKm,
+
+        @NotNull(message = "To latitude must not be null")
+        @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+        @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+        Double toLatitude,
+
+        @NotNull(message = "To longitude must not be null")
+        @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+        @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+        Double toLongitude,
+
+        @NotNull(message = "To radius must not be null")
+        @Positive(message = "Radius must be a positive number")
+        @DecimalMax(value = "100.0", message = "Radius must not exceed 100 km")
+        Double toRadiusKm,
+
+        Integer size
+) {}
@@ -0,0 +1,6 @@
+package com.example.hitchhikingservice.model.dto.request;
+
+public record PageRequestDto(
+        String cursor,
+        Integer size
+) {}
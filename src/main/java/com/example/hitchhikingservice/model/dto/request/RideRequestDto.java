@@ -1,5 +1,6 @@
 package com.example.hitchhikingservice.model.dto.request;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -29,5 +30,11 @@ public record RideRequestDto(
         LocalDateTime departureTime,
 
         @Size(max = 500, message = "Comment must not exceed 500 characters")
-        String comment
+        String comment,
+
+        @Valid
+        GeoPointRequestDto departurePoint,
+
+        @Valid
+        GeoPointRequestDto destinationPoint
 ) {}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.example.hitchhikingservice.model.dto.response;
+
+/**
+ * The outcome for the item at {@code index} of a batch request: either
+ * {@code item} or, if that item failed, {@code error}.
+ */
+public record BatchItemResponseDto<T>(
+        int index,
+        T item,
+        String error
+) {
+
+    public static <T> BatchItemResponseDto<T> success(int index, T item) {
+        return new BatchItemResponseDto<>(index, item, null);
+    }
+
+    public static <T> BatchItemResponseDto<T> failure(int index, String error) {
+        return new BatchItemResponseDto<>(index, null, error);
+    }
+}
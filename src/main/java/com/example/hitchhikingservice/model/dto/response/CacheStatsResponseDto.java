@@ -0,0 +1,9 @@
+package com.example.hitchhikingservice.model.dto.response;
+
+public record CacheStatsResponseDto(
+        long size,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount
+) {}
@@ -0,0 +1,14 @@
+package com.example.hitchhikingservice.model.dto.response;
+
+public record GeoPointResponseDto(
+        double latitude,
+        double longitude
+) {
+
+    /**
+     * Returns the point, or {@code null} when either coordinate is missing.
+     */
+    public static GeoPointResponseDto of(Double latitude, Double longitude) {
+        return latitude == null || longitude == null ? null : new GeoPointResponseDto(latitude, longitude);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.hitchhikingservice.model.dto.response;
+
+import java.util.List;
+
+public record PageResponseDto<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasMore
+) {}
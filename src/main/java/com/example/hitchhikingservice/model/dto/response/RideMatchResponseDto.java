@@ -0,0 +1,8 @@
+package com.example.hitchhikingservice.model.dto.response;
+
+public record RideMatchResponseDto(
+        RideResponseDto ride,
+        double pickupDistanceKm,
+        double dropoffDistanceKm,
+        double detourKm
+) {}
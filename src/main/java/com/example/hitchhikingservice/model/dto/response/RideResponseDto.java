@@ -12,6 +12,9 @@ public record RideResponseDto(
         LocalDateTime departureTime,
         String comment,
         UserResponseDto driver,
-        List<UserResponseDto> passengers
+        List<UserResponseDto> passengers,
+        GeoPointResponseDto departurePoint,
+        GeoPointResponseDto destinationPoint,
+        Long version
 ) {}
 
@@ -0,0 +1,12 @@
+package com.example.hitchhikingservice.model.dto.response;
+
+import java.util.Map;
+
+public record RouteStatsResponseDto(
+        long count,
+        double p50Ms,
+        double p99Ms,
+        double p999Ms,
+        double maxMs,
+        Map<Integer, Long> statusCodes
+) {}
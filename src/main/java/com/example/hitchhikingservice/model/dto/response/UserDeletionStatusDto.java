@@ -0,0 +1,18 @@
+package com.example.hitchhikingservice.model.dto.response;
+
+/**
+ * Progress of a background user deletion. {@code ridesTotal} is the number of
+ * rides the user drove when the deletion started.
+ */
+public record UserDeletionStatusDto(
+        Long userId,
+        State state,
+        long ridesTotal,
+        long ridesDeleted,
+        String error
+) {
+
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.hitchhikingservice.model.entity;
 
+import com.example.hitchhikingservice.utils.LocationNormalizer;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -10,6 +12,10 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -18,6 +24,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,14 +35,17 @@ import lombok.Setter;
 public class Ride {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rides_seq")
+    @SequenceGenerator(name = "rides_seq", sequenceName = "rides_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "driver_id", nullable = false)
     private User driver;
 
     @ManyToMany
+    @BatchSize(size = 50)
+    @OrderBy("id")
     @JoinTable(
             name = "ride_passengers",
             joinColumns = @JoinColumn(name = "ride_id"),
@@ -54,11 +64,46 @@ public class Ride {
     @Column(nullable = false)
     private String destination;
 
+    @Column(name = "departure_normalized", nullable = false)
+    private String departureNormalized;
+
+    @Column(name = "destination_normalized", nullable = false)
+    private String destinationNormalized;
+
+    @Column(name = "departure_latitude")
+    private Double departureLatitude;
+
+    @Column(name = "departure_longitude")
+    private Double departureLongitude;
+
+    @Column(name = "destination_latitude")
+    private Double destinationLatitude;
+
+    @Column(name = "destination_longitude")
+    private Double destinationLongitude;
+
     @Column(name = "departure_time", columnDefinition = "TIMESTAMPTZ")
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss", timezone = "UTC")
     private LocalDateTime departureTime;
 
     private String comment;
+
+    /**
+     * Bumped on every change to the ride's response; ETags are derived from
+     * it. Not a JPA {@code @Version}, since bookings and profile changes bump
+     * it with bulk updates and a ride update must not fail on them. Only ever
+     * bumped in SQL, never written from a loaded entity, so concurrent bumps
+     * add up instead of overwriting each other.
+     */
+    @Column(nullable = false, updatable = false)
+    private Long version = 0L;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeLocations() {
+        departureNormalized = LocationNormalizer.normalize(departure);
+        destinationNormalized = LocationNormalizer.normalize(destination);
+    }
 }
 
 
@@ -0,0 +1,127 @@
+package com.example.hitchhikingservice.repository;
+
+import com.example.hitchhikingservice.model.dto.response.GeoPointResponseDto;
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.dto.response.UserResponseDto;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads whole tables in id order, one keyset chunk per call: each call
+ * returns up to {@code limit} rows with an id greater than {@code afterId},
+ * so an export holds a connection only while it reads a chunk, never while
+ * it writes one to a client.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExportRepository {
+
+    private static final String RIDES_SQL = """
+            SELECT r.id, r.car, r.seats_count, r.departure, r.destination, r.departure_time, r.comment,
+                   r.departure_latitude, r.departure_longitude, r.destination_latitude, r.destination_longitude,
+                   d.id AS driver_id, d.name AS driver_name, d.email AS driver_email, d.phone AS driver_phone,
+                   p.id AS passenger_id, p.name AS passenger_name, p.email AS passenger_email,
+                   p.phone AS passenger_phone, r.version
+            FROM (SELECT * FROM rides WHERE id > ? ORDER BY id LIMIT ?) r
+            JOIN users d ON d.id = r.driver_id
+            LEFT JOIN ride_passengers rp ON rp.ride_id = r.id
+            LEFT JOIN users p ON p.id = rp.user_id
+            ORDER BY r.id, p.id""";
+
+    private static final String USERS_SQL =
+            "SELECT id, name, email, phone FROM users WHERE id > ? ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns up to {@code limit} rides with an id greater than
+     * {@code afterId}, in id order, with driver and passengers.
+     */
+    public List<RideResponseDto> findRides(long afterId, int limit) {
+        RideAssembler assembler = new RideAssembler();
+        jdbcTemplate.query(RIDES_SQL, assembler, afterId, limit);
+        return assembler.finish();
+    }
+
+    public List<UserResponseDto> findUsers(long afterId, int limit) {
+        return jdbcTemplate.query(USERS_SQL, (rs, rowNum) -> toUser(rs, ""), afterId, limit);
+    }
+
+    private static UserResponseDto toUser(ResultSet rs, String prefix) throws SQLException {
+        return new UserResponseDto(
+                rs.getLong(prefix + "id"),
+                rs.getString(prefix + "name"),
+                rs.getString(prefix + "email"),
+                rs.getString(prefix + "phone")
+        );
+    }
+
+    private static GeoPointResponseDto toPoint(ResultSet rs, String prefix) throws SQLException {
+        return GeoPointResponseDto.of(
+                rs.getObject(prefix + "latitude", Double.class),
+                rs.getObject(prefix + "longitude", Double.class)
+        );
+    }
+
+    private static LocalDateTime toUtcDateTime(OffsetDateTime dateTime) {
+        return dateTime == null ? null : dateTime.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    /**
+     * Folds the one-row-per-passenger join back into rides.
+     */
+    private static final class RideAssembler implements RowCallbackHandler {
+
+        private final List<RideResponseDto> rides = new ArrayList<>();
+        private RideResponseDto current;
+        private List<UserResponseDto> passengers = new ArrayList<>();
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long rideId = rs.getLong("id");
+            if (current == null || current.id() != rideId) {
+                addCurrent();
+                current = new RideResponseDto(
+                        rideId,
+                        rs.getString("car"),
+                        rs.getInt("seats_count"),
+                        rs.getString("departure"),
+                        rs.getString("destination"),
+                        toUtcDateTime(rs.getObject("departure_time", OffsetDateTime.class)),
+                        rs.getString("comment"),
+                        toUser(rs, "driver_"),
+                        passengers,
+                        toPoint(rs, "departure_"),
+                        toPoint(rs, "destination_"),
+                        rs.getLong("version")
+                );
+            }
+            rs.getLong("passenger_id");
+            if (!rs.wasNull()) {
+                passengers.add(toUser(rs, "passenger_"));
+            }
+        }
+
+        List<RideResponseDto> finish() {
+            addCurrent();
+            return rides;
+        }
+
+        private void addCurrent() {
+            if (current != null) {
+                rides.add(current);
+                current = null;
+                passengers = new ArrayList<>();
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.hitchhikingservice.repository;
+
+import com.example.hitchhikingservice.model.dto.response.GeoPointResponseDto;
+import com.example.hitchhikingservice.model.dto.response.UserResponseDto;
+import com.example.hitchhikingservice.utils.LikePatterns;
+import io.r2dbc.spi.Readable;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of rides, drivers and passengers over R2DBC. Ride
+ * timestamps are read and bound in UTC, matching
+ * {@code hibernate.jdbc.time_zone} on the JPA side.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reactive-search.enabled", havingValue = "true")
+public class ReactiveRideSearchRepository {
+
+    private static final String LIKE_ESCAPE = " ESCAPE '" + LikePatterns.ESCAPE + "'";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Boolean> existsUserById(Long id) {
+        return databaseClient.sql("SELECT 1 FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    public Mono<Boolean> existsUserByName(String name) {
+        return databaseClient.sql("SELECT 1 FROM users WHERE name = :name LIMIT 1")
+                .bind("name", name)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * Finds up to {@code limit} rides matching {@code filter} in
+     * {@code (departureTime, id)} order, strictly after the given keyset
+     * position if {@code afterTime} is not {@code null}.
+     */
+    public Flux<RideRow> findRides(RideSearchFilter filter, LocalDateTime afterTime, Long afterId, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        if (filter.departure() != null) {
+            conditions.add("r.departure_normalized LIKE :departure" + LIKE_ESCAPE);
+            params.put("departure", LikePatterns.contains(filter.departure()));
+        }
+        if (filter.destination() != null) {
+            conditions.add("r.destination_normalized LIKE :destination" + LIKE_ESCAPE);
+            params.put("destination", LikePatterns.contains(filter.destination()));
+        }
+        if (filter.date() != null) {
+            conditions.add("r.departure_time >= :dayStart AND r.departure_time < :dayEnd");
+            params.put("dayStart", toUtc(filter.date().atStartOfDay()));
+            params.put("dayEnd", toUtc(filter.date().plusDays(1).atStartOfDay()));
+        }
+        if (filter.driverId() != null) {
+            conditions.add("r.driver_id = :driverId");
+            params.put("driverId", filter.driverId());
+        }
+        if (filter.driverName() != null) {
+            conditions.add("r.driver_id IN (SELECT u.id FROM users u WHERE u.name = :driverName)");
+            params.put("driverName", filter.driverName());
+        }
+        if (filter.passengerId() != null) {
+            conditions.add("r.id IN (SELECT rp.ride_id FROM ride_passengers rp WHERE rp.user_id = :passengerId)");
+            params.put("passengerId", filter.passengerId());
+        }
+        if (filter.passengerName() != null) {
+            conditions.add("r.id IN (SELECT rp.ride_id FROM ride_passengers rp "
+                    + "JOIN users u ON u.id = rp.user_id WHERE u.name = :passengerName)");
+            params.put("passengerName", filter.passengerName());
+        }
+        if (afterTime != null) {
+            conditions.add("(r.departure_time > :afterTime OR (r.departure_time = :afterTimeTie AND r.id > :afterId))");
+            params.put("afterTime", toUtc(afterTime));
+            params.put("afterTimeTie", toUtc(afterTime));
+            params.put("afterId", afterId);
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT r.id, r.car, r.seats_count, r.departure, r.destination, "
+                + "r.departure_time, r.comment, r.driver_id, r.departure_latitude, r.departure_longitude, "
+                + "r.destination_latitude, r.destination_longitude, r.version FROM rides r");
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY r.departure_time, r.id LIMIT :limit");
+        params.put("limit", limit);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec.map(ReactiveRideSearchRepository::toRideRow).all();
+    }
+
+    public Flux<UserResponseDto> findUsersByIds(Collection<Long> ids) {
+        return databaseClient.sql("SELECT id, name, email, phone FROM users WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .map(ReactiveRideSearchRepository::toUser)
+                .all();
+    }
+
+    /**
+     * Finds the passengers of the given rides, ordered by ride and then by
+     * user id like the {@code Ride.passengers} association.
+     */
+    public Flux<RidePassengerRow> findPassengers(Collection<Long> rideIds) {
+        return databaseClient.sql("SELECT rp.ride_id, u.id, u.name, u.email, u.phone FROM ride_passengers rp "
+                        + "JOIN users u ON u.id = rp.user_id WHERE rp.ride_id IN (:rideIds) ORDER BY rp.ride_id, u.id")
+                .bind("rideIds", rideIds)
+                .map(row -> new RidePassengerRow(row.get("ride_id", Long.class), toUser(row)))
+                .all();
+    }
+
+    private static RideRow toRideRow(Readable row) {
+        return new RideRow(
+                row.get("id", Long.class),
+                row.get("car", String.class),
+                row.get("seats_count", Integer.class),
+                row.get("departure", String.class),
+                row.get("destination", String.class),
+                row.get("departure_time", OffsetDateTime.class)
+                        .withOffsetSameInstant(ZoneOffset.UTC)
+                        .toLocalDateTime(),
+                row.get("comment", String.class),
+                row.get("driver_id", Long.class),
+                GeoPointResponseDto.of(row.get("departure_latitude", Double.class),
+                        row.get("departure_longitude", Double.class)),
+                GeoPointResponseDto.of(row.get("destination_latitude", Double.class),
+                        row.get("destination_longitude", Double.class)),
+                row.get("version", Long.class)
+        );
+    }
+
+    private static UserResponseDto toUser(Readable row) {
+        return new UserResponseDto(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("email", String.class),
+                row.get("phone", String.class)
+        );
+    }
+
+    private static OffsetDateTime toUtc(LocalDateTime dateTime) {
+        return dateTime.atOffset(ZoneOffset.UTC);
+    }
+
+    public record RideRow(
+            Long id,
+            String car,
+            Integer seatsCount,
+            String departure,
+            String destination,
+            LocalDateTime departureTime,
+            String comment,
+            Long driverId,
+            GeoPointResponseDto departurePoint,
+            GeoPointResponseDto destinationPoint,
+            Long version
+    ) {}
+
+    public record RidePassengerRow(
+            Long rideId,
+            UserResponseDto passenger
+    ) {}
+}
@@ -1,26 +1,146 @@
 package com.example.hitchhikingservice.repository;
 
 import com.example.hitchhikingservice.model.entity.Ride;
-
-import java.time.LocalDate;
+import com.example.hitchhikingservice.service.event.RideListing;
+import com.example.hitchhikingservice.service.geo.RideLocation;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface RideRepository extends JpaRepository<Ride, Long> {
-    List<Ride> findAllByDriverId(Long driverId);
+public interface RideRepository extends JpaRepository<Ride, Long>, JpaSpecificationExecutor<Ride>,
+        RideRepositoryCustom {
 
-    List<Ride> findAllByDriverName(String name);
+    @Query("SELECT r.driver.id FROM Ride r WHERE r.id = :rideId")
+    Optional<Long> findDriverIdById(Long rideId);
 
-    @Query("SELECT r FROM Ride r JOIN r.passengers p WHERE p.id = :passengerId")
-    List<Ride> findAllByPassengerId(Long passengerId);
+    @Query(value = "SELECT COUNT(*) > 0 FROM ride_passengers WHERE ride_id = :rideId AND user_id = :userId",
+            nativeQuery = true)
+    boolean existsPassenger(Long rideId, Long userId);
 
-    @Query(value = "SELECT r.* FROM rides r "
-        + "JOIN ride_passengers rp ON r.id = rp.ride_id "
-        + "JOIN users p ON rp.user_id = p.id "
-        + "WHERE p.name = :passengerName", nativeQuery = true)
-    List<Ride> findAllByPassengerName(String passengerName);
-}
+    @Transactional(readOnly = true)
+    @Query("SELECT r.version FROM Ride r WHERE r.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new com.example.hitchhikingservice.repository.RideVersion(r.id, r.version)
+            FROM Ride r
+            WHERE r.id IN :ids""")
+    List<RideVersion> findVersionsByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Ride r SET r.version = r.version + 1 WHERE r.id = :rideId")
+    int bumpVersion(Long rideId);
+
+    /**
+     * Bumps the version of every ride {@code userId} drives or has joined,
+     * whose responses show the user's profile.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE rides SET version = version + 1
+            WHERE driver_id = :userId
+               OR id IN (SELECT ride_id FROM ride_passengers WHERE user_id = :userId)""", nativeQuery = true)
+    int bumpVersionsOfRidesWithUser(Long userId);
+
+    long countByDriverId(Long driverId);
+
+    /**
+     * Returns up to {@code limit} rides driven by {@code driverId}, in no
+     * particular order.
+     */
+    @Query("""
+            SELECT new com.example.hitchhikingservice.service.event.RideListing(
+                r.id, r.driver.id, r.departureNormalized, r.destinationNormalized, r.departureTime)
+            FROM Ride r
+            WHERE r.driver.id = :driverId""")
+    List<RideListing> findListingsByDriverId(Long driverId, Limit limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM ride_passengers WHERE ride_id IN (:rideIds)", nativeQuery = true)
+    int deletePassengersOfRides(Collection<Long> rideIds);
+
+    /**
+     * Deletes the rides without loading them; their passenger rows must be
+     * deleted first.
+     */
+    @Modifying
+    @Query("DELETE FROM Ride r WHERE r.id IN :ids")
+    int deleteByIds(Collection<Long> ids);
 
+    @Query(value = "SELECT ride_id FROM ride_passengers WHERE user_id = :userId", nativeQuery = true)
+    List<Long> findRideIdsByPassengerId(Long userId);
+
+    /**
+     * Gives back the seat {@code userId} holds on each ride they joined.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE rides SET seats_count = seats_count + 1, version = version + 1
+            WHERE id IN (SELECT ride_id FROM ride_passengers WHERE user_id = :userId)""", nativeQuery = true)
+    int releaseSeatsOfPassenger(Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM ride_passengers WHERE user_id = :userId", nativeQuery = true)
+    int deletePassengerFromAllRides(Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO ride_passengers (ride_id, user_id) VALUES (:rideId, :userId)", nativeQuery = true)
+    void insertPassenger(Long rideId, Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM ride_passengers WHERE ride_id = :rideId AND user_id = :userId", nativeQuery = true)
+    int deletePassenger(Long rideId, Long userId);
+
+    /**
+     * Takes one seat if any is left. Returns the number of updated rows, so
+     * {@code 0} means the ride is full.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Ride r SET r.seatsCount = r.seatsCount - 1, r.version = r.version + 1
+            WHERE r.id = :rideId AND r.seatsCount > 0""")
+    int takeSeat(Long rideId);
+
+    @Modifying
+    @Query("UPDATE Ride r SET r.seatsCount = r.seatsCount + 1, r.version = r.version + 1 WHERE r.id = :rideId")
+    int releaseSeat(Long rideId);
+
+    /**
+     * Streams the coordinates of rides departing after {@code time} that have
+     * both endpoints set. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.example.hitchhikingservice.service.geo.RideLocation(
+                r.id, r.departureLatitude, r.departureLongitude,
+                r.destinationLatitude, r.destinationLongitude, r.departureTime)
+            FROM Ride r
+            WHERE r.departureTime > :time
+              AND r.departureLatitude IS NOT NULL AND r.departureLongitude IS NOT NULL
+              AND r.destinationLatitude IS NOT NULL AND r.destinationLongitude IS NOT NULL""")
+    Stream<RideLocation> streamLocationsDepartingAfter(LocalDateTime time);
+
+    /**
+     * Streams the listings of rides departing in {@code [from, to)}. Must be
+     * consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.example.hitchhikingservice.service.event.RideListing(
+                r.id, r.driver.id, r.departureNormalized, r.destinationNormalized, r.departureTime)
+            FROM Ride r
+            WHERE r.departureTime >= :from AND r.departureTime < :to""")
+    Stream<RideListing> streamListingsDepartingBetween(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,36 @@
+package com.example.hitchhikingservice.repository;
+
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.service.pagination.RideCursor;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface RideRepositoryCustom {
+
+    /**
+     * Selects only the keyset positions (departure time and id) of the rides
+     * matching {@code spec}, so a page and its continuation can be cut in the
+     * database before any entity or association is loaded.
+     */
+    List<RideCursor> findCursors(Specification<Ride> spec, Sort sort, int limit);
+
+    /**
+     * Finds rides whose departure or destination contains the already
+     * normalized {@code location}, best matches first: exact matches, then
+     * prefix matches, then any other substring match, each by departure time.
+     */
+    List<Long> findIdsRankedByLocation(String location, int limit);
+
+    /**
+     * Builds the responses of the rides with {@code ids}, with driver and
+     * passengers, from a single projection query. No entity is loaded, so
+     * nothing enters the persistence context or is dirty-checked. Missing ids
+     * are skipped; the order is unspecified.
+     */
+    @Transactional(readOnly = true)
+    List<RideResponseDto> findResponsesByIdIn(Collection<Long> ids);
+}
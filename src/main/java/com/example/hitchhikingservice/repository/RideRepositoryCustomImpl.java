@@ -0,0 +1,135 @@
+package com.example.hitchhikingservice.repository;
+
+import com.example.hitchhikingservice.model.dto.response.GeoPointResponseDto;
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.dto.response.UserResponseDto;
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.service.pagination.RideCursor;
+import com.example.hitchhikingservice.utils.LikePatterns;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+public class RideRepositoryCustomImpl implements RideRepositoryCustom {
+
+    private static final String RESPONSE_ROWS_QUERY = """
+            SELECT new com.example.hitchhikingservice.repository.RideResponseRow(
+                r.id, r.car, r.seatsCount, r.departure, r.destination, r.departureTime, r.comment,
+                r.departureLatitude, r.departureLongitude, r.destinationLatitude, r.destinationLongitude,
+                d.id, d.name, d.email, d.phone,
+                p.id, p.name, p.email, p.phone, r.version)
+            FROM Ride r
+            JOIN r.driver d
+            LEFT JOIN r.passengers p
+            WHERE r.id IN :ids
+            ORDER BY r.id, p.id""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<RideCursor> findCursors(Specification<Ride> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RideCursor> query = cb.createQuery(RideCursor.class);
+        Root<Ride> root = query.from(Ride.class);
+        query.select(cb.construct(RideCursor.class, root.get("departureTime"), root.get("id")));
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Long> findIdsRankedByLocation(String location, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Ride> root = query.from(Ride.class);
+        Expression<String> departure = root.get("departureNormalized");
+        Expression<String> destination = root.get("destinationNormalized");
+
+        String prefix = LikePatterns.startsWith(location);
+        String substring = LikePatterns.contains(location);
+
+        Expression<Integer> rank = cb.<Integer>selectCase()
+                .when(cb.or(cb.equal(departure, location), cb.equal(destination, location)), 0)
+                .when(cb.or(
+                        cb.like(departure, prefix, LikePatterns.ESCAPE),
+                        cb.like(destination, prefix, LikePatterns.ESCAPE)), 1)
+                .otherwise(2);
+
+        query.select(root.get("id"))
+                .where(cb.or(
+                        cb.like(departure, substring, LikePatterns.ESCAPE),
+                        cb.like(destination, substring, LikePatterns.ESCAPE)))
+                .orderBy(cb.asc(rank), cb.asc(root.get("departureTime")), cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<RideResponseDto> findResponsesByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<RideResponseRow> rows = entityManager.createQuery(RESPONSE_ROWS_QUERY, RideResponseRow.class)
+                .setParameter("ids", ids)
+                .getResultList();
+
+        // The rows of one ride are consecutive, one per passenger.
+        List<RideResponseDto> rides = new ArrayList<>();
+        int start = 0;
+        while (start < rows.size()) {
+            RideResponseRow ride = rows.get(start);
+            List<UserResponseDto> passengers = new ArrayList<>();
+            int end = start;
+            while (end < rows.size() && rows.get(end).id().equals(ride.id())) {
+                RideResponseRow row = rows.get(end);
+                if (row.passengerId() != null) {
+                    passengers.add(new UserResponseDto(row.passengerId(), row.passengerName(),
+                            row.passengerEmail(), row.passengerPhone()));
+                }
+                end++;
+            }
+            rides.add(toResponse(ride, passengers));
+            start = end;
+        }
+        return rides;
+    }
+
+    private static RideResponseDto toResponse(RideResponseRow row, List<UserResponseDto> passengers) {
+        return new RideResponseDto(
+                row.id(),
+                row.car(),
+                row.seatsCount(),
+                row.departure(),
+                row.destination(),
+                row.departureTime(),
+                row.comment(),
+                new UserResponseDto(row.driverId(), row.driverName(), row.driverEmail(), row.driverPhone()),
+                List.copyOf(passengers),
+                GeoPointResponseDto.of(row.departureLatitude(), row.departureLongitude()),
+                GeoPointResponseDto.of(row.destinationLatitude(), row.destinationLongitude()),
+                row.version()
+        );
+    }
+}
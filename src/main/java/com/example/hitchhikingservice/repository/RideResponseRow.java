@@ -0,0 +1,30 @@
+package com.example.hitchhikingservice.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the ride response projection: a ride with its driver and one of
+ * its passengers, or no passenger columns for a ride without passengers.
+ */
+public record RideResponseRow(
+        Long id,
+        String car,
+        Integer seatsCount,
+        String departure,
+        String destination,
+        LocalDateTime departureTime,
+        String comment,
+        Double departureLatitude,
+        Double departureLongitude,
+        Double destinationLatitude,
+        Double destinationLongitude,
+        Long driverId,
+        String driverName,
+        String driverEmail,
+        String driverPhone,
+        Long passengerId,
+        String passengerName,
+        String passengerEmail,
+        String passengerPhone,
+        Long version
+) {}
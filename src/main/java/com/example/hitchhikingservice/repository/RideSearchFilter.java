@@ -0,0 +1,45 @@
+package com.example.hitchhikingservice.repository;
+
+import com.example.hitchhikingservice.utils.LocationNormalizer;
+import java.time.LocalDate;
+
+/**
+ * Ride search criteria for the reactive read path, equivalent to the
+ * corresponding {@code RideSpecifications}. Absent criteria are {@code null};
+ * locations are already normalized.
+ */
+public record RideSearchFilter(
+        String departure,
+        String destination,
+        LocalDate date,
+        Long driverId,
+        String driverName,
+        Long passengerId,
+        String passengerName
+) {
+
+    public static RideSearchFilter locations(String departure, String destination, LocalDate date) {
+        return new RideSearchFilter(normalize(departure), normalize(destination), date, null, null, null, null);
+    }
+
+    public static RideSearchFilter driverId(Long driverId) {
+        return new RideSearchFilter(null, null, null, driverId, null, null, null);
+    }
+
+    public static RideSearchFilter driverName(String driverName) {
+        return new RideSearchFilter(null, null, null, null, driverName, null, null);
+    }
+
+    public static RideSearchFilter passengerId(Long passengerId) {
+        return new RideSearchFilter(null, null, null, null, null, passengerId, null);
+    }
+
+    public static RideSearchFilter passengerName(String passengerName) {
+        return new RideSearchFilter(null, null, null, null, null, null, passengerName);
+    }
+
+    private static String normalize(String location) {
+        String normalized = LocationNormalizer.normalize(location);
+        return normalized == null || normalized.isEmpty() ? null : normalized;
+    }
+}
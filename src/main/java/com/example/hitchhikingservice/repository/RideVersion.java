@@ -0,0 +1,9 @@
+package com.example.hitchhikingservice.repository;
+
+/**
+ * The current version of a ride, for ETag checks that need nothing else.
+ */
+public record RideVersion(
+        Long id,
+        Long version
+) {}
@@ -1,8 +1,15 @@
 package com.example.hitchhikingservice.repository;
 
+import com.example.hitchhikingservice.model.dto.response.UserResponseDto;
 import com.example.hitchhikingservice.model.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -13,4 +20,53 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     Optional<User> findByEmail(String email);
+
+    /**
+     * Deletes the user row without cascading to rides; their rides and seats
+     * must be deleted first.
+     */
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id = :id")
+    int deleteRowById(Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(Long id, String password);
+
+    // Response projections select only the exposed columns: neither the password hash nor the ride
+    // collections are read, and no entity enters the persistence context.
+
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new com.example.hitchhikingservice.model.dto.response.UserResponseDto(
+                u.id, u.name, u.email, u.phone)
+            FROM User u
+            WHERE u.id = :id""")
+    Optional<UserResponseDto> findResponseById(Long id);
+
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new com.example.hitchhikingservice.model.dto.response.UserResponseDto(
+                u.id, u.name, u.email, u.phone)
+            FROM User u
+            WHERE u.email = :email""")
+    Optional<UserResponseDto> findResponseByEmail(String email);
+
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new com.example.hitchhikingservice.model.dto.response.UserResponseDto(
+                u.id, u.name, u.email, u.phone)
+            FROM User u
+            WHERE u.id IN :ids""")
+    List<UserResponseDto> findResponsesByIdIn(Collection<Long> ids);
+
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new com.example.hitchhikingservice.model.dto.response.UserResponseDto(
+                u.id, u.name, u.email, u.phone)
+            FROM User u
+            WHERE u.id > :afterId
+            ORDER BY u.id""")
+    List<UserResponseDto> findResponsesAfterId(Long afterId, Limit limit);
 }
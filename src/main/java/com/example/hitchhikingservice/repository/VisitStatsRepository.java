@@ -0,0 +1,70 @@
+package com.example.hitchhikingservice.repository;
+
+import com.example.hitchhikingservice.service.stats.VisitCountDelta;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JDBC access to {@code visit_stats}. Deltas are applied with a batched
+ * upsert, so concurrent flushes from several replicas add up instead of
+ * overwriting each other.
+ */
+@Repository
+@RequiredArgsConstructor
+public class VisitStatsRepository {
+
+    private static final String POSTGRESQL_UPSERT = """
+            INSERT INTO visit_stats (route, status, hits) VALUES (?, ?, ?)
+            ON CONFLICT (route, status) DO UPDATE SET hits = visit_stats.hits + EXCLUDED.hits""";
+
+    private static final String STANDARD_UPSERT = """
+            MERGE INTO visit_stats t
+            USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS INTEGER), CAST(? AS BIGINT))) s (route, status, hits)
+            ON t.route = s.route AND t.status = s.status
+            WHEN MATCHED THEN UPDATE SET hits = t.hits + s.hits
+            WHEN NOT MATCHED THEN INSERT (route, status, hits) VALUES (s.route, s.status, s.hits)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String upsertSql;
+
+    /**
+     * Adds all deltas in one transaction: a failed batch adds none of them,
+     * so the caller can retry the whole batch without counting hits twice.
+     */
+    @Transactional
+    public void addCounts(List<VisitCountDelta> deltas) {
+        jdbcTemplate.batchUpdate(upsertSql(), deltas, deltas.size(), (statement, delta) -> {
+            statement.setString(1, delta.route());
+            statement.setInt(2, delta.status());
+            statement.setLong(3, delta.hits());
+        });
+    }
+
+    /**
+     * Returns the persisted hit counts as {@code route -> status -> hits}.
+     */
+    public Map<String, Map<Integer, Long>> findAllCounts() {
+        Map<String, Map<Integer, Long>> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT route, status, hits FROM visit_stats", row -> {
+            counts.computeIfAbsent(row.getString("route"), route -> new HashMap<>())
+                    .put(row.getInt("status"), row.getLong("hits"));
+        });
+        return counts;
+    }
+
+    private String upsertSql() {
+        if (upsertSql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    JdbcUtils.commonDatabaseName(connection.getMetaData().getDatabaseProductName()));
+            upsertSql = "PostgreSQL".equals(product) ? POSTGRESQL_UPSERT : STANDARD_UPSERT;
+        }
+        return upsertSql;
+    }
+}
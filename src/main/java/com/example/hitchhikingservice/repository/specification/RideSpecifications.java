@@ -0,0 +1,103 @@
+package com.example.hitchhikingservice.repository.specification;
+
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.utils.LikePatterns;
+import com.example.hitchhikingservice.utils.LocationNormalizer;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Composable filters for {@link Ride} queries. Every factory returns {@code null}
+ * for an absent argument, which {@link Specification#where} and
+ * {@link Specification#and} treat as "no restriction".
+ */
+public final class RideSpecifications {
+
+    private RideSpecifications() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static Specification<Ride> departureContains(String departure) {
+        return locationContains("departureNormalized", departure);
+    }
+
+    public static Specification<Ride> destinationContains(String destination) {
+        return locationContains("destinationNormalized", destination);
+    }
+
+    public static Specification<Ride> departsOn(LocalDate date) {
+        if (date == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("departureTime"), date.atStartOfDay()),
+                cb.lessThan(root.get("departureTime"), date.plusDays(1).atStartOfDay())
+        );
+    }
+
+    public static Specification<Ride> hasDriverId(Long driverId) {
+        if (driverId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("driver").get("id"), driverId);
+    }
+
+    public static Specification<Ride> hasDriverName(String driverName) {
+        if (driverName == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.join("driver").get("name"), driverName);
+    }
+
+    public static Specification<Ride> hasPassengerId(Long passengerId) {
+        return hasPassengerWith("id", passengerId);
+    }
+
+    public static Specification<Ride> hasPassengerName(String passengerName) {
+        return hasPassengerWith("name", passengerName);
+    }
+
+    /**
+     * Keyset predicate matching rides strictly after the given position in
+     * {@code (departureTime, id)} order.
+     */
+    public static Specification<Ride> after(LocalDateTime departureTime, Long id) {
+        if (departureTime == null || id == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("departureTime"), departureTime),
+                cb.and(
+                        cb.equal(root.get("departureTime"), departureTime),
+                        cb.greaterThan(root.get("id"), id)
+                )
+        );
+    }
+
+    private static Specification<Ride> hasPassengerWith(String attribute, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Subquery<Long> rideIds = query.subquery(Long.class);
+            Root<Ride> ride = rideIds.from(Ride.class);
+            Join<Ride, User> passenger = ride.join("passengers");
+            rideIds.select(ride.get("id")).where(cb.equal(passenger.get(attribute), value));
+            return root.get("id").in(rideIds);
+        };
+    }
+
+    private static Specification<Ride> locationContains(String attribute, String value) {
+        String normalized = LocationNormalizer.normalize(value);
+        if (normalized == null || normalized.isEmpty()) {
+            return null;
+        }
+        String pattern = LikePatterns.contains(normalized);
+        return (root, query, cb) -> cb.like(root.get(attribute), pattern, LikePatterns.ESCAPE);
+    }
+}
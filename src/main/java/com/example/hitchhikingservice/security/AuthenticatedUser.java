@@ -0,0 +1,30 @@
+package com.example.hitchhikingservice.security;
+
+import com.example.hitchhikingservice.model.entity.Role;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Principal built from the claims of a verified JWT. Controllers receive it via
+ * {@code @AuthenticationPrincipal} and never need to parse the token again.
+ */
+public record AuthenticatedUser(
+        Long id,
+        String email,
+        Role role,
+        Instant expiresAt
+) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+}
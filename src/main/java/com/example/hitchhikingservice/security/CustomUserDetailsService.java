@@ -1,16 +1,18 @@
 package com.example.hitchhikingservice.security;
 
 import com.example.hitchhikingservice.exception.EntityNotFoundException;
+import com.example.hitchhikingservice.model.entity.User;
 import com.example.hitchhikingservice.repository.UserRepository;
 import com.example.hitchhikingservice.utils.ErrorMessages;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -19,4 +21,16 @@ public class CustomUserDetailsService implements UserDetailsService {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.USER_NOT_FOUND));
     }
+
+    /**
+     * Stores a rehash of the password, called by Spring Security after a
+     * successful login whose stored hash uses a lower BCrypt strength.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = (User) userDetails;
+        userRepository.updatePassword(user.getId(), newPassword);
+        user.setPassword(newPassword);
+        return user;
+    }
 }
@@ -0,0 +1,116 @@
+package com.example.hitchhikingservice.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.crypto.SecretKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the HMAC keys derived once from configuration and resolves the
+ * verification key of a token from its {@code kid} header.
+ *
+ * <p>When {@code jwt.keys-file} is set, the file is polled and a new key set is
+ * swapped in atomically whenever it changes, so keys can be rotated without a
+ * restart: add the new key, switch {@value #ACTIVE_KEY_ID_ENTRY} to it, and
+ * drop the old key once the tokens it signed have expired.
+ */
+@Slf4j
+@Component
+public class JwtKeyProvider extends LocatorAdapter<Key> {
+
+    public static final String DEFAULT_KEY_ID = "default";
+    static final String ACTIVE_KEY_ID_ENTRY = "active-key-id";
+
+    private final JwtProperties properties;
+    private final AtomicReference<KeySet> keySet = new AtomicReference<>();
+    private volatile FileTime keysFileModified;
+
+    public JwtKeyProvider(JwtProperties properties) {
+        this.properties = properties;
+        keySet.set(loadKeySet());
+    }
+
+    public ActiveKey activeKey() {
+        KeySet current = keySet.get();
+        return new ActiveKey(current.activeKeyId(), current.keys().get(current.activeKeyId()));
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String keyId = header.getKeyId() != null ? header.getKeyId() : DEFAULT_KEY_ID;
+        SecretKey key = keySet.get().keys().get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key id: " + keyId);
+        }
+        return key;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.keys-reload-interval-ms:60000}")
+    public void reloadIfChanged() {
+        if (properties.keysFile() == null || properties.keysFile().isBlank()) {
+            return;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(Path.of(properties.keysFile()));
+            if (!modified.equals(keysFileModified)) {
+                keySet.set(loadKeySet());
+                log.info("Reloaded JWT keys, active key id: {}", keySet.get().activeKeyId());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to reload JWT keys, keeping the current ones: {}", e.getMessage());
+        }
+    }
+
+    private KeySet loadKeySet() {
+        Map<String, String> secrets = new HashMap<>();
+        secrets.put(DEFAULT_KEY_ID, properties.secret());
+        if (properties.keys() != null) {
+            secrets.putAll(properties.keys());
+        }
+        String activeKeyId = properties.activeKeyId();
+
+        if (properties.keysFile() != null && !properties.keysFile().isBlank()) {
+            Properties fileKeys = readKeysFile(Path.of(properties.keysFile()));
+            activeKeyId = fileKeys.getProperty(ACTIVE_KEY_ID_ENTRY, activeKeyId);
+            fileKeys.remove(ACTIVE_KEY_ID_ENTRY);
+            fileKeys.forEach((id, secret) -> secrets.put(id.toString(), secret.toString()));
+        }
+
+        Map<String, SecretKey> keys = new HashMap<>();
+        secrets.forEach((id, secret) -> keys.put(id, Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret))));
+        if (!keys.containsKey(activeKeyId)) {
+            throw new IllegalStateException("Active JWT key id is not configured: " + activeKeyId);
+        }
+        return new KeySet(activeKeyId, Map.copyOf(keys));
+    }
+
+    private Properties readKeysFile(Path path) {
+        Properties fileKeys = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            keysFileModified = Files.getLastModifiedTime(path);
+            fileKeys.load(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read JWT keys file: " + path, e);
+        }
+        return fileKeys;
+    }
+
+    public record ActiveKey(String id, SecretKey key) {}
+
+    private record KeySet(String activeKeyId, Map<String, SecretKey> keys) {}
+}
@@ -0,0 +1,20 @@
+package com.example.hitchhikingservice.security;
+
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * JWT settings. {@code secret} is registered under the key id
+ * {@value JwtKeyProvider#DEFAULT_KEY_ID} and also verifies tokens issued
+ * without a {@code kid} header. Additional keys come from {@code keys} and,
+ * optionally, from {@code keysFile}, which is reloaded at runtime.
+ */
+@ConfigurationProperties(prefix = "jwt")
+public record JwtProperties(
+        String secret,
+        long expirationMs,
+        @DefaultValue(JwtKeyProvider.DEFAULT_KEY_ID) String activeKeyId,
+        Map<String, String> keys,
+        String keysFile
+) {}
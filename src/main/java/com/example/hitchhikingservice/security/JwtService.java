@@ -1,14 +1,10 @@
 package com.example.hitchhikingservice.security;
 
+import com.example.hitchhikingservice.model.entity.Role;
 import com.example.hitchhikingservice.model.entity.User;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
-import javax.crypto.SecretKey;
 import java.util.Date;
 import io.jsonwebtoken.Jwts;
 
@@ -16,54 +12,55 @@ import io.jsonwebtoken.Jwts;
 @Slf4j
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final JwtKeyProvider keyProvider;
+    private final long expirationMillis;
+    private final JwtParser parser;
 
-    @Value("${jwt.expiration-ms}")
-    private long expirationMillis;
+    public JwtService(JwtProperties properties, JwtKeyProvider keyProvider) {
+        this.keyProvider = keyProvider;
+        this.expirationMillis = properties.expirationMs();
+        this.parser = Jwts.parser()
+                .keyLocator(keyProvider)
+                .build();
+    }
 
     public String extractUserName(String token) {
         return getClaims(token).getSubject();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUserName(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    /**
+     * Verifies the signature and expiry of {@code token} and builds the principal
+     * from its claims.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public AuthenticatedUser parseAuthenticatedUser(String token) {
+        Claims claims = getClaims(token);
+        return new AuthenticatedUser(
+                claims.get("id", Long.class),
+                claims.getSubject(),
+                Role.valueOf(claims.get("role", String.class)),
+                claims.getExpiration().toInstant()
+        );
     }
 
     public String generateToken(User user) {
         Date now = new Date();
         Date expiration = new Date(now.getTime() + expirationMillis);
+        JwtKeyProvider.ActiveKey signingKey = keyProvider.activeKey();
 
         return Jwts.builder()
+                .header().keyId(signingKey.id()).and()
                 .subject(user.getEmail())
                 .claim("id", user.getId())
                 .claim("role", user.getRole())
                 .issuedAt(now)
                 .expiration(expiration)
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey.key(), Jwts.SIG.HS256)
                 .compact();
     }
 
-    private boolean isTokenExpired(String token) {
-        return getClaims(token).getExpiration().before(new Date());
-    }
-
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private SecretKey getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
-    public Long getUserIdFromToken(String token) {
-        Claims claims = getClaims(token);
-        return claims.get("id", Long.class);
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
@@ -0,0 +1,72 @@
+package com.example.hitchhikingservice.security;
+
+import com.example.hitchhikingservice.exception.TooManyRequestsException;
+import com.example.hitchhikingservice.utils.ErrorMessages;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token-bucket limits on authentication attempts per client address and per
+ * account email, checked before any password is hashed so that floods are
+ * turned away cheaply. Buckets idle long enough to be full again are evicted.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final long MAX_BUCKETS = 100_000;
+
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, TokenBucket> emailBuckets;
+    private final int ipCapacity;
+    private final int ipPerMinute;
+    private final int emailCapacity;
+    private final int emailPerMinute;
+
+    public LoginThrottle(@Value("${auth.throttle.ip.capacity:20}") int ipCapacity,
+                         @Value("${auth.throttle.ip.per-minute:20}") int ipPerMinute,
+                         @Value("${auth.throttle.email.capacity:5}") int emailCapacity,
+                         @Value("${auth.throttle.email.per-minute:5}") int emailPerMinute) {
+        this.ipCapacity = ipCapacity;
+        this.ipPerMinute = ipPerMinute;
+        this.emailCapacity = emailCapacity;
+        this.emailPerMinute = emailPerMinute;
+        this.ipBuckets = buckets(ipCapacity, ipPerMinute);
+        this.emailBuckets = buckets(emailCapacity, emailPerMinute);
+    }
+
+    /**
+     * Takes one attempt from the buckets of {@code clientIp} and, if given,
+     * {@code email}.
+     *
+     * @throws TooManyRequestsException if either bucket is empty
+     */
+    public void acquire(String clientIp, String email) {
+        long now = System.nanoTime();
+        consume(ipBuckets.get(clientIp, key -> new TokenBucket(ipCapacity, ipPerMinute, now)), now);
+        if (email != null) {
+            consume(emailBuckets.get(email.toLowerCase(Locale.ROOT),
+                    key -> new TokenBucket(emailCapacity, emailPerMinute, now)), now);
+        }
+    }
+
+    private static void consume(TokenBucket bucket, long now) {
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException(ErrorMessages.TOO_MANY_ATTEMPTS,
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+    }
+
+    private static Cache<String, TokenBucket> buckets(int capacity, int perMinute) {
+        long refillMillis = (long) Math.ceil(capacity * 60_000.0 / perMinute);
+        return Caffeine.newBuilder()
+                .maximumSize(MAX_BUCKETS)
+                .expireAfterAccess(Duration.ofMillis(refillMillis))
+                .build();
+    }
+}
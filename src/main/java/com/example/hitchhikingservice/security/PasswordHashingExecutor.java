@@ -0,0 +1,91 @@
+package com.example.hitchhikingservice.security;
+
+import com.example.hitchhikingservice.exception.TooManyRequestsException;
+import com.example.hitchhikingservice.utils.ErrorMessages;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs password hashing and verification on a small dedicated pool, so a
+ * login storm saturates these threads instead of every request thread.
+ * Work that finds the queue full, or is not done within the timeout, is
+ * rejected with {@code 429} rather than left to pile up.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    public PasswordHashingExecutor(@Value("${auth.hashing.threads:4}") int threads,
+                                   @Value("${auth.hashing.queue-capacity:32}") int queueCapacity,
+                                   @Value("${auth.hashing.timeout-ms:5000}") long timeoutMs) {
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Runs {@code task} on the hashing pool and waits for its result.
+     * Runtime exceptions of the task are rethrown as they are.
+     *
+     * @throws TooManyRequestsException if the pool is saturated or the task times out
+     */
+    public <T> T execute(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException(ErrorMessages.AUTHENTICATION_BUSY, RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new TooManyRequestsException(ErrorMessages.AUTHENTICATION_BUSY, RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    int queuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.hitchhikingservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of verified tokens, keyed by the SHA-256 of the token so raw
+ * tokens are never kept in memory. Entries expire together with the token.
+ */
+@Component
+public class TokenAuthenticationCache {
+
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public TokenAuthenticationCache(@Value("${jwt.cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    /**
+     * Returns the cached principal for {@code token}, verifying and caching it
+     * with {@code verifier} on a miss. Tokens rejected by the verifier are not
+     * cached.
+     */
+    public AuthenticatedUser get(String token, Function<String, AuthenticatedUser> verifier) {
+        return cache.get(hash(token), key -> verifier.apply(token));
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<String, AuthenticatedUser> {
+
+        @Override
+        public long expireAfterCreate(String key, AuthenticatedUser user, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), user.expiresAt());
+            return Math.max(0, remaining.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, AuthenticatedUser user, long currentTime,
+                                      long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, AuthenticatedUser user, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.hitchhikingservice.security;
+
+/**
+ * A token bucket holding up to {@code capacity} tokens and refilled
+ * continuously at {@code tokensPerMinute}.
+ */
+class TokenBucket {
+
+    private static final double NANOS_PER_MINUTE = 60e9;
+
+    private final int capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(int capacity, int tokensPerMinute, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerMinute / NANOS_PER_MINUTE;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /**
+     * Takes a token if one is available. Returns {@code 0} on success,
+     * otherwise the nanoseconds until the next token.
+     */
+    synchronized long tryConsume(long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens--;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
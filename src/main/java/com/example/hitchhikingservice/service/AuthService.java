@@ -5,7 +5,7 @@ import com.example.hitchhikingservice.model.dto.request.LoginRequestDto;
 import com.example.hitchhikingservice.model.dto.response.AuthResponseDto;
 
 public interface AuthService {
-    AuthResponseDto register(AuthRequestDto request);
+    AuthResponseDto register(AuthRequestDto request, String clientIp);
 
-    AuthResponseDto login(LoginRequestDto request);
+    AuthResponseDto login(LoginRequestDto request, String clientIp);
 }
@@ -1,9 +1,10 @@
 package com.example.hitchhikingservice.service;
 
+import com.example.hitchhikingservice.model.dto.response.RouteStatsResponseDto;
 import java.util.Map;
 
 public interface CounterService {
-    void increment(String uri);
+    void record(String route, int status, long latencyNanos);
 
-    Map<String, Long> getStats();
+    Map<String, RouteStatsResponseDto> getStats();
 }
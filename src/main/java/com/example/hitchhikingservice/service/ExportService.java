@@ -0,0 +1,17 @@
+package com.example.hitchhikingservice.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes whole tables as NDJSON, one object per line in id order. An
+ * interrupted export resumes by passing the id of the last line received
+ * as {@code afterId}.
+ */
+public interface ExportService {
+
+    void exportRides(long afterId, OutputStream out) throws IOException;
+
+    void exportUsers(long afterId, OutputStream out) throws IOException;
+
+}
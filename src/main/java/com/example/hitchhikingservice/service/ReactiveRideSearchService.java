@@ -0,0 +1,23 @@
+package com.example.hitchhikingservice.service;
+
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import reactor.core.publisher.Flux;
+
+/**
+ * Read-only ride search over R2DBC. Each method streams every matching ride
+ * in the order of the paged {@link RideService} methods, so the stream equals
+ * their pages concatenated.
+ */
+public interface ReactiveRideSearchService {
+
+    Flux<RideResponseDto> getAllRides(String departure, String destination, String date);
+
+    Flux<RideResponseDto> getRidesByDriverId(Long driverId);
+
+    Flux<RideResponseDto> getRidesByDriverName(String driverName);
+
+    Flux<RideResponseDto> getRidesByPassengerId(Long passengerId);
+
+    Flux<RideResponseDto> getRidesByPassengerName(String passengerName);
+
+}
@@ -1,25 +1,65 @@
 package com.example.hitchhikingservice.service;
 
+import com.example.hitchhikingservice.model.dto.request.NearbyRideSearchRequestDto;
+import com.example.hitchhikingservice.model.dto.request.PageRequestDto;
 import com.example.hitchhikingservice.model.dto.request.RideRequestDto;
+import com.example.hitchhikingservice.model.dto.response.BatchItemResponseDto;
+import com.example.hitchhikingservice.model.dto.response.PageResponseDto;
+import com.example.hitchhikingservice.model.dto.response.RideMatchResponseDto;
 import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.service.pagination.RideVersionPage;
 import java.util.List;
 
 public interface RideService {
 
-    List<RideResponseDto> getAllRides(String departure, String destination, String date);
+    PageResponseDto<RideResponseDto> getAllRides(String departure, String destination, String date,
+                                                 PageRequestDto pageRequest);
+
+    /**
+     * Returns the page like {@link #getAllRides(String, String, String, PageRequestDto)},
+     * reloading cached rides older than their version in {@code minVersions}.
+     */
+    PageResponseDto<RideResponseDto> getAllRides(String departure, String destination, String date,
+                                                 PageRequestDto pageRequest, RideVersionPage minVersions);
+
+    /**
+     * Returns the ids and versions of the rides {@link #getAllRides} would
+     * return, and the page's continuation, without building the responses.
+     */
+    RideVersionPage getAllRidesVersions(String departure, String destination, String date,
+                                        PageRequestDto pageRequest);
 
     RideResponseDto getRideById(Long id);
 
-    List<RideResponseDto> getRidesByDriverId(Long driverId);
+    /**
+     * Returns the ride like {@link #getRideById(Long)}, reloading a cached
+     * response older than {@code minVersion}.
+     */
+    RideResponseDto getRideById(Long id, Long minVersion);
+
+    /**
+     * Returns the current version of the ride, without building its response.
+     */
+    Long getRideVersion(Long id);
+
+    List<BatchItemResponseDto<RideResponseDto>> getRidesByIds(List<Long> ids);
 
-    List<RideResponseDto> getRidesByDriverName(String driverName);
+    PageResponseDto<RideResponseDto> getRidesByDriverId(Long driverId, PageRequestDto pageRequest);
 
-    List<RideResponseDto> getRidesByPassengerId(Long passengerId);
+    PageResponseDto<RideResponseDto> getRidesByDriverName(String driverName, PageRequestDto pageRequest);
 
-    List<RideResponseDto> getRidesByPassengerName(String passengerName);
+    PageResponseDto<RideResponseDto> getRidesByPassengerId(Long passengerId, PageRequestDto pageRequest);
+
+    PageResponseDto<RideResponseDto> getRidesByPassengerName(String passengerName, PageRequestDto pageRequest);
+
+    List<RideResponseDto> searchRidesByLocation(String location, Integer size);
+
+    List<RideMatchResponseDto> searchRidesNearby(NearbyRideSearchRequestDto request);
 
     RideResponseDto createRide(RideRequestDto rideRequestDto, Long driverId);
 
+    List<BatchItemResponseDto<RideResponseDto>> createRides(List<RideRequestDto> rideRequestDtos, Long driverId);
+
     RideResponseDto updateRide(Long id, RideRequestDto rideRequestDto, Long userId);
 
     void deleteRideById(Long id, Long userId);
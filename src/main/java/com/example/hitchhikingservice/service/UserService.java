@@ -1,18 +1,28 @@
 package com.example.hitchhikingservice.service;
 
+import com.example.hitchhikingservice.model.dto.request.PageRequestDto;
 import com.example.hitchhikingservice.model.dto.request.UserRequestDto;
+import com.example.hitchhikingservice.model.dto.response.BatchItemResponseDto;
+import com.example.hitchhikingservice.model.dto.response.PageResponseDto;
+import com.example.hitchhikingservice.model.dto.response.UserDeletionStatusDto;
 import com.example.hitchhikingservice.model.dto.response.UserResponseDto;
 import java.util.List;
 
 public interface UserService {
 
-    List<UserResponseDto> getAllUsers();
+    PageResponseDto<UserResponseDto> getAllUsers(PageRequestDto pageRequest);
 
     UserResponseDto getUserById(Long id);
 
+    List<BatchItemResponseDto<UserResponseDto>> getUsersByIds(List<Long> ids);
+
     UserResponseDto updateUser(Long id, UserRequestDto userRequestDto);
 
     void deleteUserById(Long id);
 
+    UserDeletionStatusDto startUserDeletion(Long id);
+
+    UserDeletionStatusDto getUserDeletionStatus(Long id);
+
     UserResponseDto getUserByEmail(String userEmail);
 }
@@ -0,0 +1,185 @@
+package com.example.hitchhikingservice.service.cache;
+
+import com.example.hitchhikingservice.service.event.RideListing;
+import com.example.hitchhikingservice.service.pagination.RideCursor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The rides departing on one day, in keyset order, with trigram postings of
+ * their normalized departure and destination. A location filter is a
+ * substring match, and every trigram of the searched text occurs in each
+ * matching location, so the smallest posting list among those trigrams holds
+ * all candidates; like PostgreSQL's trigram index, candidates are then
+ * checked against the real filter.
+ *
+ * <p>Mutations are serialized by {@link UpcomingRideIndex}; reads are
+ * lock-free and verify every candidate, so a concurrent change is seen
+ * either before or after it happened.
+ */
+class DayBucket {
+
+    static final Comparator<RideCursor> KEYSET_ORDER = Comparator
+            .comparing(RideCursor::departureTime)
+            .thenComparing(RideCursor::id);
+
+    private static final int TRIGRAM = 3;
+
+    private final NavigableMap<RideCursor, RideListing> ordered = new ConcurrentSkipListMap<>(KEYSET_ORDER);
+    private final Map<Long, RideListing> byId = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> departureTrigrams = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> destinationTrigrams = new ConcurrentHashMap<>();
+
+    /**
+     * Ids removed while the bucket is still loading, so the load does not
+     * bring back rides deleted or moved after its snapshot. Cleared once ready.
+     */
+    private final Set<Long> removedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    boolean isReady() {
+        return ready;
+    }
+
+    void markReady() {
+        removedWhileLoading.clear();
+        ready = true;
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    void put(RideListing ride) {
+        remove(ride.id());
+        byId.put(ride.id(), ride);
+        ordered.put(cursorOf(ride), ride);
+        index(departureTrigrams, ride.departure(), ride.id());
+        index(destinationTrigrams, ride.destination(), ride.id());
+    }
+
+    /**
+     * Adds a ride read by the initial load unless an event already added or
+     * removed it.
+     */
+    void putLoaded(RideListing ride) {
+        if (!byId.containsKey(ride.id()) && !removedWhileLoading.contains(ride.id())) {
+            put(ride);
+        }
+    }
+
+    void remove(Long rideId) {
+        if (!ready) {
+            removedWhileLoading.add(rideId);
+        }
+        RideListing ride = byId.remove(rideId);
+        if (ride != null) {
+            ordered.remove(cursorOf(ride));
+            unindex(departureTrigrams, ride.departure(), rideId);
+            unindex(destinationTrigrams, ride.destination(), rideId);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} rides matching {@code query} after its
+     * cursor, in keyset order.
+     */
+    List<RideListing> find(RidePageQuery query, int limit) {
+        Collection<Long> candidates = smallestPosting(query);
+        if (candidates == null || candidates.size() > byId.size() / 2) {
+            // Walking the rides in order and stopping at the limit is cheaper than sorting most of them.
+            return scan(query, limit);
+        }
+        List<RideListing> matches = new ArrayList<>();
+        for (Long id : candidates) {
+            RideListing ride = byId.get(id);
+            if (ride != null && query.matches(ride) && ride.isAfter(query.after())) {
+                matches.add(ride);
+            }
+        }
+        matches.sort(Comparator.comparing(DayBucket::cursorOf, KEYSET_ORDER));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    private List<RideListing> scan(RidePageQuery query, int limit) {
+        Collection<RideListing> rides = query.after() == null
+                ? ordered.values()
+                : ordered.tailMap(query.after(), false).values();
+        List<RideListing> matches = new ArrayList<>();
+        for (RideListing ride : rides) {
+            if (query.matches(ride)) {
+                matches.add(ride);
+                if (matches.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the smallest posting list among the trigrams of the location
+     * filters, an empty list if one of them occurs nowhere, or {@code null}
+     * when no filter is long enough to have trigrams.
+     */
+    private Collection<Long> smallestPosting(RidePageQuery query) {
+        Collection<Long> departure = smallestPosting(departureTrigrams, query.departure());
+        Collection<Long> destination = smallestPosting(destinationTrigrams, query.destination());
+        if (departure == null || destination == null) {
+            return departure == null ? destination : departure;
+        }
+        return departure.size() <= destination.size() ? departure : destination;
+    }
+
+    private static Collection<Long> smallestPosting(Map<String, Set<Long>> postings, String filter) {
+        Collection<Long> smallest = null;
+        for (String trigram : trigrams(filter)) {
+            Set<Long> posting = postings.get(trigram);
+            if (posting == null) {
+                return List.of();
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        return smallest;
+    }
+
+    private static void index(Map<String, Set<Long>> postings, String location, Long rideId) {
+        for (String trigram : trigrams(location)) {
+            postings.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(rideId);
+        }
+    }
+
+    private static void unindex(Map<String, Set<Long>> postings, String location, Long rideId) {
+        for (String trigram : trigrams(location)) {
+            postings.computeIfPresent(trigram, (key, ids) -> {
+                ids.remove(rideId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static Set<String> trigrams(String text) {
+        if (text == null || text.length() < TRIGRAM) {
+            return Set.of();
+        }
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + TRIGRAM <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + TRIGRAM));
+        }
+        return trigrams;
+    }
+
+    static RideCursor cursorOf(RideListing ride) {
+        return new RideCursor(ride.departureTime(), ride.id());
+    }
+}
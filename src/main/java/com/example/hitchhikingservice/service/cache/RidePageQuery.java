@@ -0,0 +1,45 @@
+package com.example.hitchhikingservice.service.cache;
+
+import com.example.hitchhikingservice.service.event.RideListing;
+import com.example.hitchhikingservice.service.pagination.RideCursor;
+import com.example.hitchhikingservice.utils.LocationNormalizer;
+import java.time.LocalDate;
+
+/**
+ * Cache key of a ride page: the normalized filters, the keyset position the
+ * page starts after and the page size. Absent filters are {@code null}.
+ */
+public record RidePageQuery(
+        String departure,
+        String destination,
+        LocalDate date,
+        Long driverId,
+        RideCursor after,
+        int size
+) {
+
+    public static RidePageQuery search(String departure, String destination, LocalDate date,
+                                       RideCursor after, int size) {
+        return new RidePageQuery(normalize(departure), normalize(destination), date, null, after, size);
+    }
+
+    public static RidePageQuery byDriver(Long driverId, RideCursor after, int size) {
+        return new RidePageQuery(null, null, null, driverId, after, size);
+    }
+
+    /**
+     * Returns whether {@code ride} passes the filters of this query, mirroring
+     * the corresponding {@code RideSpecifications}.
+     */
+    public boolean matches(RideListing ride) {
+        return (departure == null || ride.departure().contains(departure))
+                && (destination == null || ride.destination().contains(destination))
+                && (date == null || ride.departureTime().toLocalDate().equals(date))
+                && (driverId == null || driverId.equals(ride.driverId()));
+    }
+
+    private static String normalize(String location) {
+        String normalized = LocationNormalizer.normalize(location);
+        return normalized == null || normalized.isEmpty() ? null : normalized;
+    }
+}
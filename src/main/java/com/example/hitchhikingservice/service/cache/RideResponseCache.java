@@ -0,0 +1,218 @@
+package com.example.hitchhikingservice.service.cache;
+
+import com.example.hitchhikingservice.model.dto.response.CacheStatsResponseDto;
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.dto.response.UserResponseDto;
+import com.example.hitchhikingservice.service.event.RideChangedEvent;
+import com.example.hitchhikingservice.service.event.RideListing;
+import com.example.hitchhikingservice.service.event.RidePassengersChangedEvent;
+import com.example.hitchhikingservice.service.event.UserChangedEvent;
+import com.example.hitchhikingservice.service.pagination.RideIdPage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Caches ready-made ride responses by id, and ride pages as ordered id lists
+ * hydrated through the same per-ride cache. Pages therefore only depend on
+ * which rides match and in what order, so a passenger joining a ride evicts
+ * one ride entry instead of every page showing it.
+ *
+ * <p>Entries are evicted after the writing transaction commits. With read
+ * replicas configured they are evicted once more after
+ * {@code datasource.replicas.cache-re-evict-delay-ms}, since a replica that
+ * had not applied the commit yet may have served a read in between and
+ * cached its result. Only a read that raced the commit on the primary can
+ * still store a stale entry; the TTL bounds how long it survives.
+ */
+@Component
+public class RideResponseCache {
+
+    private final Cache<Long, RideResponseDto> rides;
+    private final Cache<RidePageQuery, RideIdPage> pages;
+    private final long reEvictDelayMs;
+    private final ScheduledExecutorService reEvictions;
+
+    public RideResponseCache(@Value("${rides.cache.max-size:10000}") long maxSize,
+                             @Value("${rides.cache.page-max-size:1000}") long pageMaxSize,
+                             @Value("${rides.cache.ttl-ms:300000}") long ttlMs,
+                             @Value("#{'${datasource.replicas.urls:}'.isBlank() ? 0"
+                                     + " : ${datasource.replicas.cache-re-evict-delay-ms:3000}}")
+                             long reEvictDelayMs) {
+        this.rides = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(pageMaxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        this.reEvictDelayMs = reEvictDelayMs;
+        this.reEvictions = reEvictDelayMs > 0
+                ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "ride-cache-re-evict");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    public RideResponseDto getRide(Long id, Function<Long, RideResponseDto> loader) {
+        return getRide(id, null, loader);
+    }
+
+    /**
+     * Returns the ride like {@link #getRide(Long, Function)}, but reloads a
+     * cached response whose version is below {@code minVersion}.
+     */
+    public RideResponseDto getRide(Long id, Long minVersion, Function<Long, RideResponseDto> loader) {
+        RideResponseDto ride = rides.get(id, loader);
+        if (isOlder(ride, minVersion)) {
+            rides.asMap().remove(id, ride);
+            ride = rides.get(id, loader);
+        }
+        return ride;
+    }
+
+    public List<RideResponseDto> getRides(List<Long> ids,
+                                          Function<Set<? extends Long>, Map<Long, RideResponseDto>> loader) {
+        return getRides(ids, Map.of(), loader);
+    }
+
+    /**
+     * Returns the rides with the given ids in the order of {@code ids}, loading
+     * all misses with a single call to {@code loader}. Ids the loader does not
+     * return, e.g. rides deleted meanwhile, are skipped. Cached responses whose
+     * version is below their entry in {@code minVersions} are reloaded.
+     */
+    public List<RideResponseDto> getRides(List<Long> ids, Map<Long, Long> minVersions,
+                                          Function<Set<? extends Long>, Map<Long, RideResponseDto>> loader) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, RideResponseDto> found = rides.getAll(ids, loader);
+        List<Long> stale = ids.stream()
+                .filter(id -> isOlder(found.get(id), minVersions.get(id)))
+                .toList();
+        if (!stale.isEmpty()) {
+            stale.forEach(id -> rides.asMap().remove(id, found.get(id)));
+            Map<Long, RideResponseDto> reloaded = new HashMap<>(found);
+            reloaded.putAll(rides.getAll(stale, loader));
+            return ids.stream().map(reloaded::get).filter(Objects::nonNull).toList();
+        }
+        return ids.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    public RideIdPage getPage(RidePageQuery query, Supplier<RideIdPage> loader) {
+        return pages.get(query, key -> loader.get());
+    }
+
+    public Map<String, CacheStatsResponseDto> getStats() {
+        return Map.of(
+                "rides", toStatsDto(rides.estimatedSize(), rides.stats()),
+                "ridePages", toStatsDto(pages.estimatedSize(), pages.stats())
+        );
+    }
+
+    public void invalidateAll() {
+        rides.invalidateAll();
+        pages.invalidateAll();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reEvictions != null) {
+            reEvictions.shutdownNow();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRideChanged(RideChangedEvent event) {
+        evictAndRepeatLater(() -> evictRide(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRidePassengersChanged(RidePassengersChangedEvent event) {
+        evictAndRepeatLater(() -> rides.invalidate(event.rideId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evictAndRepeatLater(() -> evictUser(event));
+    }
+
+    private void evictAndRepeatLater(Runnable eviction) {
+        eviction.run();
+        if (reEvictions != null) {
+            reEvictions.schedule(eviction, reEvictDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void evictRide(RideChangedEvent event) {
+        rides.invalidate(event.rideId());
+        pages.asMap().entrySet().removeIf(entry -> {
+            RidePageQuery query = entry.getKey();
+            RideIdPage page = entry.getValue();
+            return (event.before() != null && page.ids().contains(event.rideId()))
+                    || (event.after() != null && canContain(query, page, event.after()));
+        });
+    }
+
+    private void evictUser(UserChangedEvent event) {
+        rides.asMap().values().removeIf(ride -> references(ride, event.userId()));
+        if (event.deleted()) {
+            pages.asMap().keySet().removeIf(query -> event.userId().equals(query.driverId()));
+        }
+    }
+
+    /**
+     * Returns whether {@code ride} belongs on {@code page}: it matches the
+     * filters and its keyset position falls between the page start and the
+     * last ride on the page, or anywhere after the start on the final page.
+     */
+    private static boolean canContain(RidePageQuery query, RideIdPage page, RideListing ride) {
+        return query.matches(ride)
+                && ride.isAfter(query.after())
+                && (!page.hasMore() || !ride.isAfter(page.last()));
+    }
+
+    private static boolean isOlder(RideResponseDto ride, Long minVersion) {
+        return ride != null && minVersion != null && ride.version() < minVersion;
+    }
+
+    private static boolean references(RideResponseDto ride, Long userId) {
+        return userId.equals(ride.driver().id()) || containsUser(ride.passengers(), userId);
+    }
+
+    private static boolean containsUser(Collection<UserResponseDto> users, Long userId) {
+        return users.stream().anyMatch(user -> userId.equals(user.id()));
+    }
+
+    private static CacheStatsResponseDto toStatsDto(long size, CacheStats stats) {
+        return new CacheStatsResponseDto(
+                size,
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.hitchhikingservice.service.cache;
+
+import com.example.hitchhikingservice.repository.RideRepository;
+import com.example.hitchhikingservice.service.event.RideChangedEvent;
+import com.example.hitchhikingservice.service.event.RideListing;
+import com.example.hitchhikingservice.service.pagination.CursorCodec;
+import com.example.hitchhikingservice.service.pagination.RideCursor;
+import com.example.hitchhikingservice.service.pagination.RideIdPage;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-process read model of the rides departing today and in the following
+ * {@code rides.hot-index.days - 1} days, one {@link DayBucket} per day.
+ * Ride searches for a date in this window are answered from memory; other
+ * searches, and days still loading, go to the database.
+ *
+ * <p>Buckets are loaded when the application is ready and when the window
+ * moves on to a new day, follow committed ride changes, and are dropped once
+ * their day is over. Each replica holds its own model and only sees changes
+ * made through it, like the other in-process caches.
+ */
+@Slf4j
+@Component
+public class UpcomingRideIndex {
+
+    private final RideRepository rideRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int days;
+    private final Map<LocalDate, DayBucket> buckets = new ConcurrentHashMap<>();
+    private final Object refreshLock = new Object();
+
+    public UpcomingRideIndex(RideRepository rideRepository, PlatformTransactionManager transactionManager,
+                             @Value("${rides.hot-index.days:7}") int days) {
+        this.rideRepository = rideRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.days = days;
+    }
+
+    /**
+     * Returns the page for {@code query}, or an empty optional when its date is
+     * not in the window or not loaded yet. Queries without a date or filtered
+     * by driver are never answered here.
+     */
+    public Optional<RideIdPage> findPage(RidePageQuery query) {
+        if (query.date() == null || query.driverId() != null) {
+            return Optional.empty();
+        }
+        DayBucket bucket = buckets.get(query.date());
+        if (bucket == null || !bucket.isReady()) {
+            return Optional.empty();
+        }
+
+        List<RideListing> rides = bucket.find(query, query.size() + 1);
+        boolean hasMore = rides.size() > query.size();
+        if (hasMore) {
+            rides = rides.subList(0, query.size());
+        }
+        if (rides.isEmpty()) {
+            return Optional.of(new RideIdPage(List.of(), null, null, false));
+        }
+        RideCursor last = DayBucket.cursorOf(rides.get(rides.size() - 1));
+        return Optional.of(new RideIdPage(
+                rides.stream().map(RideListing::id).toList(),
+                last,
+                hasMore ? CursorCodec.encodeRideCursor(last) : null,
+                hasMore
+        ));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${rides.hot-index.refresh-interval-ms:60000}",
+            initialDelayString = "${rides.hot-index.refresh-interval-ms:60000}")
+    public void refresh() {
+        refresh(LocalDate.now());
+    }
+
+    /**
+     * Moves the window to start at {@code today}: drops the buckets of past
+     * days and loads the missing ones.
+     */
+    void refresh(LocalDate today) {
+        synchronized (refreshLock) {
+            buckets.keySet().removeIf(day -> day.isBefore(today));
+            for (int i = 0; i < days; i++) {
+                LocalDate day = today.plusDays(i);
+                if (!buckets.containsKey(day)) {
+                    load(day);
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRideChanged(RideChangedEvent event) {
+        // A ride is removed from every bucket, not only from the day it was in,
+        // so that buckets still loading do not pick up its old state.
+        buckets.values().forEach(bucket -> bucket.remove(event.rideId()));
+        if (event.after() != null) {
+            DayBucket bucket = buckets.get(event.after().departureTime().toLocalDate());
+            if (bucket != null) {
+                bucket.put(event.after());
+            }
+        }
+    }
+
+    private void load(LocalDate day) {
+        long start = System.nanoTime();
+        DayBucket bucket = new DayBucket();
+        buckets.put(day, bucket);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<RideListing> rides = rideRepository.streamListingsDepartingBetween(
+                        day.atStartOfDay(), day.plusDays(1).atStartOfDay())) {
+                    rides.forEach(ride -> putLoaded(bucket, ride));
+                }
+            });
+        } catch (DataAccessException e) {
+            // Searches for this day keep going to the database until the next refresh loads it.
+            buckets.remove(day, bucket);
+            log.warn("Could not load rides departing on {} into the upcoming ride index", day, e);
+            return;
+        }
+        synchronized (this) {
+            bucket.markReady();
+        }
+        log.info("Loaded {} rides departing on {} into the upcoming ride index in {} ms", bucket.size(), day,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private synchronized void putLoaded(DayBucket bucket, RideListing ride) {
+        bucket.putLoaded(ride);
+    }
+}
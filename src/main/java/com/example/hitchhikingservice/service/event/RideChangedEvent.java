@@ -0,0 +1,11 @@
+package com.example.hitchhikingservice.service.event;
+
+/**
+ * Published when a ride is created, updated or deleted. {@code before} is
+ * {@code null} for a new ride and {@code after} is {@code null} for a deleted one.
+ */
+public record RideChangedEvent(
+        Long rideId,
+        RideListing before,
+        RideListing after
+) {}
@@ -0,0 +1,52 @@
+package com.example.hitchhikingservice.service.event;
+
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.service.geo.RideLocation;
+import com.example.hitchhikingservice.service.pagination.RideCursor;
+import com.example.hitchhikingservice.utils.LocationNormalizer;
+import java.time.LocalDateTime;
+
+/**
+ * The fields of a ride that decide which filtered, keyset-ordered ride pages
+ * it appears on. Locations are normalized like the search columns.
+ * {@code location} is {@code null} for rides without coordinates.
+ */
+public record RideListing(
+        Long id,
+        Long driverId,
+        String departure,
+        String destination,
+        LocalDateTime departureTime,
+        RideLocation location
+) {
+
+    /**
+     * Creates a listing without a location, for queries that do not need it.
+     */
+    public RideListing(Long id, Long driverId, String departure, String destination, LocalDateTime departureTime) {
+        this(id, driverId, departure, destination, departureTime, null);
+    }
+
+    public static RideListing of(Ride ride) {
+        return new RideListing(
+                ride.getId(),
+                ride.getDriver().getId(),
+                LocationNormalizer.normalize(ride.getDeparture()),
+                LocationNormalizer.normalize(ride.getDestination()),
+                ride.getDepartureTime(),
+                RideLocation.of(ride)
+        );
+    }
+
+    /**
+     * Returns whether this ride comes strictly after {@code cursor} in
+     * {@code (departureTime, id)} order; every ride is after a {@code null} cursor.
+     */
+    public boolean isAfter(RideCursor cursor) {
+        if (cursor == null) {
+            return true;
+        }
+        int byTime = departureTime.compareTo(cursor.departureTime());
+        return byTime > 0 || (byTime == 0 && id > cursor.id());
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.hitchhikingservice.service.event;
+
+/**
+ * Published when a passenger joins or leaves a ride.
+ */
+public record RidePassengersChangedEvent(
+        Long rideId
+) {}
@@ -0,0 +1,9 @@
+package com.example.hitchhikingservice.service.event;
+
+/**
+ * Published when a user profile is updated or the user is deleted.
+ */
+public record UserChangedEvent(
+        Long userId,
+        boolean deleted
+) {}
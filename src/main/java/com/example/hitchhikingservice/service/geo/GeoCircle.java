@@ -0,0 +1,7 @@
+package com.example.hitchhikingservice.service.geo;
+
+public record GeoCircle(
+        double latitude,
+        double longitude,
+        double radiusKm
+) {}
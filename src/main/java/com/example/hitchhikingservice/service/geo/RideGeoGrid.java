@@ -0,0 +1,321 @@
+package com.example.hitchhikingservice.service.geo;
+
+import com.example.hitchhikingservice.utils.GeoDistance;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rides bucketed by the latitude/longitude grid cell of their departure.
+ * A radius query only visits the cells overlapping the circle's bounding box
+ * and checks exact distances for the rides in them, so its cost depends on
+ * the ride density around the point rather than on the number of rides.
+ *
+ * <p>Each cell keeps its rides in parallel primitive arrays, with latitudes
+ * and longitudes in radians and latitude cosines precomputed, and is replaced
+ * as a whole on every change. Queries scan plain arrays without locking and
+ * see each cell either before or after a concurrent update.
+ */
+public class RideGeoGrid {
+
+    private static final Comparator<RideGeoMatch> BY_DETOUR = Comparator
+            .comparingDouble(RideGeoMatch::detourKm)
+            .thenComparingDouble(RideGeoMatch::pickupDistanceKm)
+            .thenComparing(RideGeoMatch::rideId);
+
+    private final double cellDegrees;
+    private final int latitudeCells;
+    private final int longitudeCells;
+    private final Map<Long, RideLocation> byId = new ConcurrentHashMap<>();
+    private final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+
+    public RideGeoGrid(double cellDegrees) {
+        if (!(cellDegrees > 0 && cellDegrees <= 90)) {
+            throw new IllegalArgumentException("Cell size must be between 0 and 90 degrees");
+        }
+        this.cellDegrees = cellDegrees;
+        this.latitudeCells = (int) Math.ceil(180 / cellDegrees);
+        this.longitudeCells = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Adds {@code location}, replacing any previous location of the same ride.
+     */
+    public void put(RideLocation location) {
+        byId.compute(location.id(), (id, previous) -> {
+            if (previous != null) {
+                removeFromCell(previous);
+            }
+            addToCell(location);
+            return location;
+        });
+    }
+
+    /**
+     * Adds {@code location} unless the ride is already indexed, so a bulk
+     * load does not overwrite updates that arrived while it was running.
+     */
+    public void putIfAbsent(RideLocation location) {
+        byId.computeIfAbsent(location.id(), id -> {
+            addToCell(location);
+            return location;
+        });
+    }
+
+    public void remove(Long rideId) {
+        byId.computeIfPresent(rideId, (id, previous) -> {
+            removeFromCell(previous);
+            return null;
+        });
+    }
+
+    /**
+     * Removes every ride departing at or before {@code time} and returns how
+     * many were removed.
+     */
+    public int removeDepartingUntil(LocalDateTime time) {
+        int[] removed = {0};
+        for (RideLocation location : byId.values()) {
+            if (!location.departureTime().isAfter(time)) {
+                // Re-checked under the entry lock in case the ride was just moved to a later time.
+                byId.computeIfPresent(location.id(), (id, current) -> {
+                    if (current.departureTime().isAfter(time)) {
+                        return current;
+                    }
+                    removeFromCell(current);
+                    removed[0]++;
+                    return null;
+                });
+            }
+        }
+        return removed[0];
+    }
+
+    /**
+     * Returns up to {@code limit} rides departing after {@code departingAfter}
+     * that start within {@code from} and end within {@code to}, smallest
+     * detour first.
+     */
+    public List<RideGeoMatch> findMatches(GeoCircle from, GeoCircle to, LocalDateTime departingAfter, int limit) {
+        Query query = new Query(from, to, departingAfter);
+        List<RideGeoMatch> matches = new ArrayList<>();
+
+        double latitudeSpan = from.radiusKm() / GeoDistance.KM_PER_DEGREE;
+        double minLatitude = Math.max(-90, from.latitude() - latitudeSpan);
+        double maxLatitude = Math.min(90, from.latitude() + latitudeSpan);
+        int[] longitudeCellRange = longitudeCellRange(from.longitude(), latitudeSpan, minLatitude, maxLatitude);
+
+        for (int latitudeCell = latitudeCell(minLatitude); latitudeCell <= latitudeCell(maxLatitude); latitudeCell++) {
+            for (int cell = longitudeCellRange[0]; cell <= longitudeCellRange[1]; cell++) {
+                Cell rides = cells.get(cellKey(latitudeCell, Math.floorMod(cell, longitudeCells)));
+                if (rides != null) {
+                    rides.collectMatches(query, matches);
+                }
+            }
+        }
+
+        matches.sort(BY_DETOUR);
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Returns the first and last longitude cell, unwrapped, covering a circle
+     * between the given latitudes. The range may cross the antimeridian and
+     * covers every cell when the circle reaches a pole.
+     */
+    private int[] longitudeCellRange(double longitude, double latitudeSpan, double minLatitude,
+                                     double maxLatitude) {
+        double widestLatitude = Math.max(Math.abs(minLatitude), Math.abs(maxLatitude));
+        double longitudeSpan = latitudeSpan / Math.cos(Math.toRadians(widestLatitude));
+        if (widestLatitude >= 90 || Double.isNaN(longitudeSpan) || longitudeSpan >= 180) {
+            return new int[] {0, longitudeCells - 1};
+        }
+        int first = (int) Math.floor((longitude - longitudeSpan + 180) / cellDegrees);
+        int last = (int) Math.floor((longitude + longitudeSpan + 180) / cellDegrees);
+        if (last - first + 1 >= longitudeCells) {
+            return new int[] {0, longitudeCells - 1};
+        }
+        return new int[] {first, last};
+    }
+
+    private void addToCell(RideLocation location) {
+        cells.compute(cellKey(location), (key, rides) -> rides != null ? rides.with(location) : Cell.of(location));
+    }
+
+    private void removeFromCell(RideLocation location) {
+        cells.computeIfPresent(cellKey(location), (key, rides) -> rides.without(location.id()));
+    }
+
+    private long cellKey(RideLocation location) {
+        int longitudeCell = Math.floorMod((int) Math.floor((location.departureLongitude() + 180) / cellDegrees),
+                longitudeCells);
+        return cellKey(latitudeCell(location.departureLatitude()), longitudeCell);
+    }
+
+    private long cellKey(int latitudeCell, int longitudeCell) {
+        return (long) latitudeCell * longitudeCells + longitudeCell;
+    }
+
+    private int latitudeCell(double latitude) {
+        return Math.min(latitudeCells - 1, (int) Math.floor((latitude + 90) / cellDegrees));
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * The precomputed parts of a query. Candidates are first compared by
+     * haversine, which needs no inverse trigonometry; the small slack keeps
+     * the exact kilometre check below authoritative at the boundary.
+     */
+    private static final class Query {
+
+        private static final double SLACK = 1 + 1e-9;
+
+        private final GeoCircle from;
+        private final GeoCircle to;
+        private final double fromPhi;
+        private final double fromCos;
+        private final double fromLambda;
+        private final double toPhi;
+        private final double toCos;
+        private final double toLambda;
+        private final double maxPickupHaversine;
+        private final double maxDropoffHaversine;
+        private final double tripKm;
+        private final long departingAfterMillis;
+
+        Query(GeoCircle from, GeoCircle to, LocalDateTime departingAfter) {
+            this.from = from;
+            this.to = to;
+            this.fromPhi = Math.toRadians(from.latitude());
+            this.fromCos = Math.cos(fromPhi);
+            this.fromLambda = Math.toRadians(from.longitude());
+            this.toPhi = Math.toRadians(to.latitude());
+            this.toCos = Math.cos(toPhi);
+            this.toLambda = Math.toRadians(to.longitude());
+            this.maxPickupHaversine = GeoDistance.haversineOf(from.radiusKm()) * SLACK;
+            this.maxDropoffHaversine = GeoDistance.haversineOf(to.radiusKm()) * SLACK;
+            this.tripKm = GeoDistance.km(from.latitude(), from.longitude(), to.latitude(), to.longitude());
+            this.departingAfterMillis = epochMillis(departingAfter);
+        }
+    }
+
+    /**
+     * An immutable column-wise copy of the rides in one grid cell.
+     */
+    private static final class Cell {
+
+        private final long[] ids;
+        private final long[] departureMillis;
+        private final double[] departurePhi;
+        private final double[] departureCos;
+        private final double[] departureLambda;
+        private final double[] destinationPhi;
+        private final double[] destinationCos;
+        private final double[] destinationLambda;
+
+        private Cell(int size) {
+            ids = new long[size];
+            departureMillis = new long[size];
+            departurePhi = new double[size];
+            departureCos = new double[size];
+            departureLambda = new double[size];
+            destinationPhi = new double[size];
+            destinationCos = new double[size];
+            destinationLambda = new double[size];
+        }
+
+        static Cell of(RideLocation location) {
+            Cell cell = new Cell(1);
+            cell.set(0, location);
+            return cell;
+        }
+
+        Cell with(RideLocation location) {
+            Cell cell = new Cell(ids.length + 1);
+            copy(this, 0, cell, 0, ids.length);
+            cell.set(ids.length, location);
+            return cell;
+        }
+
+        /**
+         * Returns this cell without the ride, or {@code null} if that leaves it empty.
+         */
+        Cell without(long id) {
+            int index = 0;
+            while (index < ids.length && ids[index] != id) {
+                index++;
+            }
+            if (index == ids.length) {
+                return this;
+            }
+            if (ids.length == 1) {
+                return null;
+            }
+            Cell cell = new Cell(ids.length - 1);
+            copy(this, 0, cell, 0, index);
+            copy(this, index + 1, cell, index, ids.length - index - 1);
+            return cell;
+        }
+
+        void collectMatches(Query query, List<RideGeoMatch> matches) {
+            for (int i = 0; i < ids.length; i++) {
+                if (departureMillis[i] <= query.departingAfterMillis) {
+                    continue;
+                }
+                double pickup = GeoDistance.haversine(departurePhi[i], departureCos[i], departureLambda[i],
+                        query.fromPhi, query.fromCos, query.fromLambda);
+                if (pickup > query.maxPickupHaversine) {
+                    continue;
+                }
+                double dropoff = GeoDistance.haversine(query.toPhi, query.toCos, query.toLambda,
+                        destinationPhi[i], destinationCos[i], destinationLambda[i]);
+                if (dropoff > query.maxDropoffHaversine) {
+                    continue;
+                }
+                double pickupKm = GeoDistance.km(pickup);
+                double dropoffKm = GeoDistance.km(dropoff);
+                if (pickupKm > query.from.radiusKm() || dropoffKm > query.to.radiusKm()) {
+                    continue;
+                }
+                double directKm = GeoDistance.km(GeoDistance.haversine(
+                        departurePhi[i], departureCos[i], departureLambda[i],
+                        destinationPhi[i], destinationCos[i], destinationLambda[i]));
+                matches.add(new RideGeoMatch(ids[i], pickupKm, dropoffKm,
+                        pickupKm + query.tripKm + dropoffKm - directKm));
+            }
+        }
+
+        private void set(int index, RideLocation location) {
+            ids[index] = location.id();
+            departureMillis[index] = epochMillis(location.departureTime());
+            departurePhi[index] = Math.toRadians(location.departureLatitude());
+            departureCos[index] = Math.cos(departurePhi[index]);
+            departureLambda[index] = Math.toRadians(location.departureLongitude());
+            destinationPhi[index] = Math.toRadians(location.destinationLatitude());
+            destinationCos[index] = Math.cos(destinationPhi[index]);
+            destinationLambda[index] = Math.toRadians(location.destinationLongitude());
+        }
+
+        private static void copy(Cell source, int sourceIndex, Cell target, int targetIndex, int length) {
+            System.arraycopy(source.ids, sourceIndex, target.ids, targetIndex, length);
+            System.arraycopy(source.departureMillis, sourceIndex, target.departureMillis, targetIndex, length);
+            System.arraycopy(source.departurePhi, sourceIndex, target.departurePhi, targetIndex, length);
+            System.arraycopy(source.departureCos, sourceIndex, target.departureCos, targetIndex, length);
+            System.arraycopy(source.departureLambda, sourceIndex, target.departureLambda, targetIndex, length);
+            System.arraycopy(source.destinationPhi, sourceIndex, target.destinationPhi, targetIndex, length);
+            System.arraycopy(source.destinationCos, sourceIndex, target.destinationCos, targetIndex, length);
+            System.arraycopy(source.destinationLambda, sourceIndex, target.destinationLambda, targetIndex, length);
+        }
+    }
+}
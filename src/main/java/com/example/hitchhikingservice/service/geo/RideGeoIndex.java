@@ -0,0 +1,78 @@
+package com.example.hitchhikingservice.service.geo;
+
+import com.example.hitchhikingservice.repository.RideRepository;
+import com.example.hitchhikingservice.service.event.RideChangedEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the upcoming rides that have endpoint coordinates in a
+ * {@link RideGeoGrid}. The grid is loaded once the application is ready and
+ * then follows committed ride changes; departed rides are purged periodically
+ * and never matched.
+ *
+ * <p>Each replica holds its own index. Changes made through another replica
+ * reach it only after a restart, like the other in-process caches.
+ */
+@Slf4j
+@Component
+public class RideGeoIndex {
+
+    private final RideRepository rideRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final RideGeoGrid grid;
+
+    public RideGeoIndex(RideRepository rideRepository, PlatformTransactionManager transactionManager,
+                        @Value("${geo.index.cell-degrees:0.1}") double cellDegrees) {
+        this.rideRepository = rideRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.grid = new RideGeoGrid(cellDegrees);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<RideLocation> locations = rideRepository.streamLocationsDepartingAfter(now)) {
+                locations.forEach(grid::putIfAbsent);
+            }
+        });
+        log.info("Loaded {} rides into the geo index in {} ms", grid.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    public List<RideGeoMatch> findMatches(GeoCircle from, GeoCircle to, int limit) {
+        return grid.findMatches(from, to, LocalDateTime.now(), limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRideChanged(RideChangedEvent event) {
+        RideLocation location = event.after() != null ? event.after().location() : null;
+        if (location != null && location.departureTime().isAfter(LocalDateTime.now())) {
+            grid.put(location);
+        } else {
+            grid.remove(event.rideId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${geo.index.purge-interval-ms:60000}")
+    public void purgeDeparted() {
+        int removed = grid.removeDepartingUntil(LocalDateTime.now());
+        if (removed > 0) {
+            log.debug("Removed {} departed rides from the geo index", removed);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.hitchhikingservice.service.geo;
+
+/**
+ * A ride passing near a requested trip. {@code detourKm} is how much longer
+ * the driver's route gets when picking up at the trip start and dropping off
+ * at its end, compared to driving straight.
+ */
+public record RideGeoMatch(
+        Long rideId,
+        double pickupDistanceKm,
+        double dropoffDistanceKm,
+        double detourKm
+) {}
@@ -0,0 +1,36 @@
+package com.example.hitchhikingservice.service.geo;
+
+import com.example.hitchhikingservice.model.entity.Ride;
+import java.time.LocalDateTime;
+
+/**
+ * The endpoints and departure time of a ride, as kept in the geo index.
+ */
+public record RideLocation(
+        Long id,
+        double departureLatitude,
+        double departureLongitude,
+        double destinationLatitude,
+        double destinationLongitude,
+        LocalDateTime departureTime
+) {
+
+    /**
+     * Returns the location of {@code ride}, or {@code null} when it does not
+     * have both endpoint coordinates.
+     */
+    public static RideLocation of(Ride ride) {
+        if (ride.getDepartureLatitude() == null || ride.getDepartureLongitude() == null
+                || ride.getDestinationLatitude() == null || ride.getDestinationLongitude() == null) {
+            return null;
+        }
+        return new RideLocation(
+                ride.getId(),
+                ride.getDepartureLatitude(),
+                ride.getDepartureLongitude(),
+                ride.getDestinationLatitude(),
+                ride.getDestinationLongitude(),
+                ride.getDepartureTime()
+        );
+    }
+}
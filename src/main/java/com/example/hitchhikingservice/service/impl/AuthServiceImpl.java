@@ -7,17 +7,23 @@ import com.example.hitchhikingservice.model.entity.Role;
 import com.example.hitchhikingservice.model.entity.User;
 import com.example.hitchhikingservice.repository.UserRepository;
 import com.example.hitchhikingservice.security.JwtService;
+import com.example.hitchhikingservice.security.LoginThrottle;
+import com.example.hitchhikingservice.security.PasswordHashingExecutor;
 import com.example.hitchhikingservice.service.AuthService;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-
+/**
+ * Registration and login. Both are throttled before any password is hashed,
+ * and the hashing itself runs on the {@link PasswordHashingExecutor} with no
+ * transaction open, so neither request threads nor pooled connections wait
+ * behind BCrypt.
+ */
 @Service
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
@@ -26,11 +32,12 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final LoginThrottle loginThrottle;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
-    @Transactional
-    public AuthResponseDto register(AuthRequestDto request) {
-        Optional<User> existingUser = userRepository.findByEmail(request.email());
-        if (existingUser.isPresent()) {
+    public AuthResponseDto register(AuthRequestDto request, String clientIp) {
+        loginThrottle.acquire(clientIp, null);
+        if (userRepository.existsByEmail(request.email())) {
             throw new IllegalStateException("User with this email already exists");
         }
 
@@ -38,7 +45,7 @@ public class AuthServiceImpl implements AuthService {
         user.setName(request.name());
         user.setEmail(request.email());
         user.setPhone(request.phone());
-        user.setPassword(passwordEncoder.encode(request.password()));
+        user.setPassword(passwordHashingExecutor.execute(() -> passwordEncoder.encode(request.password())));
         user.setRole(Role.USER);
 
         userRepository.save(user);
@@ -47,19 +54,21 @@ public class AuthServiceImpl implements AuthService {
         return new AuthResponseDto(token);
     }
 
-    public AuthResponseDto login(LoginRequestDto request) {
+    public AuthResponseDto login(LoginRequestDto request, String clientIp) {
+        loginThrottle.acquire(clientIp, request.email());
+        Authentication authentication;
         try {
-            authenticationManager.authenticate(
+            authentication = passwordHashingExecutor.execute(() -> authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.email(), request.password())
-            );
+            ));
         } catch (AuthenticationException e) {
             throw new IllegalStateException("Invalid email or password", e);
         }
 
-        User user = userRepository.findByEmail(request.email())
-                .orElseThrow(() -> new IllegalStateException("Invalid email or password"));
+        // The principal is the user loaded to check the password.
+        User user = (User) authentication.getPrincipal();
 
         String token = jwtService.generateToken(user);
         return new AuthResponseDto(token);
     }
-}
\ No newline at end of file
+}
@@ -1,25 +1,117 @@
 package com.example.hitchhikingservice.service.impl;
 
+import com.example.hitchhikingservice.model.dto.response.RouteStatsResponseDto;
+import com.example.hitchhikingservice.repository.VisitStatsRepository;
 import com.example.hitchhikingservice.service.CounterService;
+import com.example.hitchhikingservice.service.stats.RouteStats;
+import com.example.hitchhikingservice.service.stats.VisitCountDelta;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+/**
+ * Counts requests in memory and persists the counts write-behind: the request
+ * path only bumps striped counters, and a scheduled flush moves the pending
+ * deltas into {@code visit_stats} in one batched upsert. Deltas that fail to
+ * persist are put back and retried on the next flush.
+ */
+@Slf4j
 @Service
 public class CounterServiceImpl implements CounterService {
 
-    private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    static final String OTHER_ROUTES = "OTHER";
+
+    private final ConcurrentHashMap<String, RouteStats> routes = new ConcurrentHashMap<>();
+    private final RouteStats otherRoutes = new RouteStats();
+    private final VisitStatsRepository visitStatsRepository;
+    private final int maxRoutes;
+
+    public CounterServiceImpl(VisitStatsRepository visitStatsRepository,
+                              @Value("${visits.max-routes:256}") int maxRoutes) {
+        this.visitStatsRepository = visitStatsRepository;
+        this.maxRoutes = maxRoutes;
+    }
 
     @Override
-    public void increment(String uri) {
-        counters.computeIfAbsent(uri, k -> new AtomicLong(0)).incrementAndGet();
+    public void record(String route, int status, long latencyNanos) {
+        statsFor(route).record(status, latencyNanos);
     }
 
     @Override
-    public Map<String, Long> getStats() {
-        Map<String, Long> stats = new ConcurrentHashMap<>();
-        counters.forEach((uri, counter) -> stats.put(uri, counter.get()));
+    public Map<String, RouteStatsResponseDto> getStats() {
+        Map<String, Map<Integer, Long>> persisted = loadPersistedCounts();
+        Map<String, RouteStatsResponseDto> stats = new TreeMap<>();
+
+        routes.forEach((route, routeStats) ->
+                stats.put(route, routeStats.snapshot(persisted.getOrDefault(route, Map.of()))));
+        persisted.forEach((route, counts) -> {
+            if (!stats.containsKey(route) && !OTHER_ROUTES.equals(route)) {
+                stats.put(route, RouteStats.persistedOnly(counts));
+            }
+        });
+
+        RouteStatsResponseDto other = otherRoutes.snapshot(persisted.getOrDefault(OTHER_ROUTES, Map.of()));
+        if (other.count() > 0) {
+            stats.put(OTHER_ROUTES, other);
+        }
         return stats;
     }
+
+    @Scheduled(fixedDelayString = "${visits.flush-interval-ms:10000}")
+    @PreDestroy
+    public void flush() {
+        List<VisitCountDelta> deltas = new ArrayList<>();
+        routes.forEach((route, routeStats) -> drainInto(deltas, route, routeStats));
+        drainInto(deltas, OTHER_ROUTES, otherRoutes);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            visitStatsRepository.addCounts(deltas);
+        } catch (DataAccessException e) {
+            log.warn("Failed to persist {} visit count deltas, will retry: {}", deltas.size(), e.getMessage());
+            deltas.forEach(delta -> pendingStatsFor(delta.route()).addPending(delta.status(), delta.hits()));
+        }
+    }
+
+    private Map<String, Map<Integer, Long>> loadPersistedCounts() {
+        try {
+            return visitStatsRepository.findAllCounts();
+        } catch (DataAccessException e) {
+            log.warn("Failed to load persisted visit counts, showing local counts only: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private static void drainInto(List<VisitCountDelta> deltas, String route, RouteStats routeStats) {
+        routeStats.drainPending().forEach((status, hits) -> deltas.add(new VisitCountDelta(route, status, hits)));
+    }
+
+    private RouteStats pendingStatsFor(String route) {
+        return OTHER_ROUTES.equals(route) ? otherRoutes : statsFor(route);
+    }
+
+    /**
+     * Returns the stats of {@code route}, folding every route beyond the
+     * {@code visits.max-routes} cap into a single {@value #OTHER_ROUTES} entry.
+     */
+    private RouteStats statsFor(String route) {
+        RouteStats stats = routes.get(route);
+        if (stats != null) {
+            return stats;
+        }
+        if (routes.size() >= maxRoutes) {
+            return otherRoutes;
+        }
+        return routes.computeIfAbsent(route, key -> new RouteStats());
+    }
 }
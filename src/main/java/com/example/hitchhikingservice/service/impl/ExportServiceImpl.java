@@ -0,0 +1,77 @@
+package com.example.hitchhikingservice.service.impl;
+
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.dto.response.UserResponseDto;
+import com.example.hitchhikingservice.repository.ExportRepository;
+import com.example.hitchhikingservice.service.ExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private final ExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+
+    public ExportServiceImpl(ExportRepository exportRepository, ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${export.chunk-size:500}") int chunkSize) {
+        this.exportRepository = exportRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void exportRides(long afterId, OutputStream out) throws IOException {
+        export(out, afterId, exportRepository::findRides, RideResponseDto::id);
+    }
+
+    @Override
+    public void exportUsers(long afterId, OutputStream out) throws IOException {
+        export(out, afterId, exportRepository::findUsers, UserResponseDto::id);
+    }
+
+    /**
+     * Reads chunk after chunk, each in its own short read-only transaction,
+     * and writes a chunk as NDJSON lines only after its transaction has
+     * ended, so a slow client never holds a database connection.
+     */
+    private <T> void export(OutputStream out, long afterId, ChunkReader<T> reader, ToLongFunction<T> idOf)
+            throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            long lastId = afterId;
+            List<T> chunk;
+            do {
+                long after = lastId;
+                chunk = readOnlyTransaction.execute(status -> reader.read(after, chunkSize));
+                for (T item : chunk) {
+                    generator.writeObject(item);
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+                if (!chunk.isEmpty()) {
+                    lastId = idOf.applyAsLong(chunk.get(chunk.size() - 1));
+                }
+            } while (chunk.size() == chunkSize);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkReader<T> {
+
+        List<T> read(long afterId, int limit);
+    }
+}
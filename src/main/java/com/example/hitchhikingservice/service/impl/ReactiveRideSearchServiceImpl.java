@@ -0,0 +1,139 @@
+package com.example.hitchhikingservice.service.impl;
+
+import com.example.hitchhikingservice.exception.EntityNotFoundException;
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.dto.response.UserResponseDto;
+import com.example.hitchhikingservice.repository.ReactiveRideSearchRepository;
+import com.example.hitchhikingservice.repository.ReactiveRideSearchRepository.RidePassengerRow;
+import com.example.hitchhikingservice.repository.ReactiveRideSearchRepository.RideRow;
+import com.example.hitchhikingservice.repository.RideSearchFilter;
+import com.example.hitchhikingservice.service.ReactiveRideSearchService;
+import com.example.hitchhikingservice.utils.ErrorMessages;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Streams search results in keyset chunks. A chunk is read and hydrated with
+ * its drivers and passengers, and the next chunk is only queried once the
+ * subscriber has requested past the current one, so slow clients hold no
+ * connection and no more than one chunk in memory.
+ */
+@Service
+@ConditionalOnProperty(name = "reactive-search.enabled", havingValue = "true")
+public class ReactiveRideSearchServiceImpl implements ReactiveRideSearchService {
+
+    private final ReactiveRideSearchRepository repository;
+    private final int chunkSize;
+
+    public ReactiveRideSearchServiceImpl(ReactiveRideSearchRepository repository,
+                                         @Value("${reactive-search.chunk-size:100}") int chunkSize) {
+        this.repository = repository;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public Flux<RideResponseDto> getAllRides(String departure, String destination, String date) {
+        LocalDate departureDate = (date != null && !date.isEmpty()) ? LocalDate.parse(date) : null;
+        return streamRides(RideSearchFilter.locations(departure, destination, departureDate));
+    }
+
+    @Override
+    public Flux<RideResponseDto> getRidesByDriverId(Long driverId) {
+        return requireUser(repository.existsUserById(driverId), ErrorMessages.DRIVER_NOT_FOUND)
+                .thenMany(streamRides(RideSearchFilter.driverId(driverId)));
+    }
+
+    @Override
+    public Flux<RideResponseDto> getRidesByDriverName(String driverName) {
+        return requireUser(repository.existsUserByName(driverName), ErrorMessages.DRIVER_NOT_FOUND)
+                .thenMany(streamRides(RideSearchFilter.driverName(driverName)));
+    }
+
+    @Override
+    public Flux<RideResponseDto> getRidesByPassengerId(Long passengerId) {
+        return requireUser(repository.existsUserById(passengerId), ErrorMessages.PASSENGER_NOT_FOUND)
+                .thenMany(streamRides(RideSearchFilter.passengerId(passengerId)));
+    }
+
+    @Override
+    public Flux<RideResponseDto> getRidesByPassengerName(String passengerName) {
+        return requireUser(repository.existsUserByName(passengerName), ErrorMessages.PASSENGER_NOT_FOUND)
+                .thenMany(streamRides(RideSearchFilter.passengerName(passengerName)));
+    }
+
+    private static Mono<Void> requireUser(Mono<Boolean> exists, String message) {
+        return exists.flatMap(found -> found
+                ? Mono.<Void>empty()
+                : Mono.error(new EntityNotFoundException(message)));
+    }
+
+    private Flux<RideResponseDto> streamRides(RideSearchFilter filter) {
+        return fetchChunk(filter, null)
+                .expand(chunk -> chunk.hasMore() ? fetchChunk(filter, chunk.last()) : Mono.empty())
+                .concatMapIterable(RideChunk::rides);
+    }
+
+    private Mono<RideChunk> fetchChunk(RideSearchFilter filter, RideRow after) {
+        return repository.findRides(filter,
+                        after != null ? after.departureTime() : null,
+                        after != null ? after.id() : null,
+                        chunkSize + 1)
+                .collectList()
+                .flatMap(rows -> {
+                    boolean hasMore = rows.size() > chunkSize;
+                    List<RideRow> chunk = hasMore ? rows.subList(0, chunkSize) : rows;
+                    if (chunk.isEmpty()) {
+                        return Mono.just(new RideChunk(List.of(), null, false));
+                    }
+                    return hydrate(chunk)
+                            .map(rides -> new RideChunk(rides, chunk.get(chunk.size() - 1), hasMore));
+                });
+    }
+
+    /**
+     * Loads the drivers and passengers of {@code rows} with one query each.
+     */
+    private Mono<List<RideResponseDto>> hydrate(List<RideRow> rows) {
+        Set<Long> driverIds = rows.stream().map(RideRow::driverId).collect(Collectors.toSet());
+        List<Long> rideIds = rows.stream().map(RideRow::id).toList();
+
+        Mono<Map<Long, UserResponseDto>> drivers = repository.findUsersByIds(driverIds)
+                .collectMap(UserResponseDto::id);
+        Mono<Map<Long, Collection<UserResponseDto>>> passengers = repository.findPassengers(rideIds)
+                .collectMultimap(RidePassengerRow::rideId, RidePassengerRow::passenger);
+
+        return Mono.zip(drivers, passengers).map(loaded -> rows.stream()
+                .map(row -> toRideResponseDto(row, loaded.getT1().get(row.driverId()),
+                        loaded.getT2().getOrDefault(row.id(), List.of())))
+                .toList());
+    }
+
+    private static RideResponseDto toRideResponseDto(RideRow row, UserResponseDto driver,
+                                                     Collection<UserResponseDto> passengers) {
+        return new RideResponseDto(
+                row.id(),
+                row.car(),
+                row.seatsCount(),
+                row.departure(),
+                row.destination(),
+                row.departureTime(),
+                row.comment(),
+                driver,
+                List.copyOf(passengers),
+                row.departurePoint(),
+                row.destinationPoint(),
+                row.version()
+        );
+    }
+
+    private record RideChunk(List<RideResponseDto> rides, RideRow last, boolean hasMore) {}
+}
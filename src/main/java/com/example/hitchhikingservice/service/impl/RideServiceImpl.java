@@ -1,103 +1,228 @@
 package com.example.hitchhikingservice.service.impl;
 
+import com.example.hitchhikingservice.config.PaginationProperties;
 import com.example.hitchhikingservice.exception.EntityNotFoundException;
+import com.example.hitchhikingservice.model.dto.request.NearbyRideSearchRequestDto;
+import com.example.hitchhikingservice.model.dto.request.PageRequestDto;
 import com.example.hitchhikingservice.model.dto.request.RideRequestDto;
+import com.example.hitchhikingservice.model.dto.response.BatchItemResponseDto;
+import com.example.hitchhikingservice.model.dto.response.PageResponseDto;
+import com.example.hitchhikingservice.model.dto.response.RideMatchResponseDto;
 import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
 import com.example.hitchhikingservice.model.entity.Ride;
 import com.example.hitchhikingservice.model.entity.User;
 import com.example.hitchhikingservice.repository.RideRepository;
+import com.example.hitchhikingservice.repository.RideVersion;
 import com.example.hitchhikingservice.repository.UserRepository;
+import com.example.hitchhikingservice.repository.specification.RideSpecifications;
 import com.example.hitchhikingservice.service.RideService;
+import com.example.hitchhikingservice.service.cache.RidePageQuery;
+import com.example.hitchhikingservice.service.cache.RideResponseCache;
+import com.example.hitchhikingservice.service.cache.UpcomingRideIndex;
+import com.example.hitchhikingservice.service.event.RideChangedEvent;
+import com.example.hitchhikingservice.service.event.RideListing;
+import com.example.hitchhikingservice.service.event.RidePassengersChangedEvent;
+import com.example.hitchhikingservice.service.geo.GeoCircle;
+import com.example.hitchhikingservice.service.geo.RideGeoIndex;
+import com.example.hitchhikingservice.service.geo.RideGeoMatch;
 import com.example.hitchhikingservice.service.mapper.RideMapper;
+import com.example.hitchhikingservice.service.pagination.CursorCodec;
+import com.example.hitchhikingservice.service.pagination.RideCursor;
+import com.example.hitchhikingservice.service.pagination.RideIdPage;
+import com.example.hitchhikingservice.service.pagination.RideVersionPage;
+import com.example.hitchhikingservice.utils.BatchResults;
 import com.example.hitchhikingservice.utils.ErrorMessages;
-import jakarta.transaction.Transactional;
+import com.example.hitchhikingservice.utils.LocationNormalizer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class RideServiceImpl implements RideService {
 
+    private static final Sort RIDE_KEYSET_ORDER = Sort.by("departureTime", "id");
+
     private final RideRepository rideRepository;
     private final UserRepository userRepository;
     private final RideMapper rideMapper;
+    private final PaginationProperties paginationProperties;
+    private final SeatBookingEngine seatBookingEngine;
+    private final RideResponseCache rideResponseCache;
+    private final UpcomingRideIndex upcomingRideIndex;
+    private final RideGeoIndex rideGeoIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
 
-    public List<RideResponseDto> getAllRides(String departure, String destination, String date) {
-        LocalDateTime startDate = null;
-        LocalDateTime endDate = null;
-
-        if (date != null && !date.isEmpty()) {
-            LocalDate localDate = LocalDate.parse(date);
-            startDate = localDate.atStartOfDay();
-            endDate = localDate.atTime(LocalTime.MAX);
-        }
+    @Value("${batch.max-size:100}")
+    private int maxBatchSize;
 
-        List<Ride> rides = rideRepository.findAll();
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDto<RideResponseDto> getAllRides(String departure, String destination, String date,
+                                                        PageRequestDto pageRequest) {
+        return toResponsePage(findAllRidesPage(departure, destination, date, pageRequest));
+    }
 
-        final LocalDateTime finalStartDate = startDate;
-        final LocalDateTime finalEndDate = endDate;
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDto<RideResponseDto> getAllRides(String departure, String destination, String date,
+                                                        PageRequestDto pageRequest, RideVersionPage minVersions) {
+        return toResponsePage(findAllRidesPage(departure, destination, date, pageRequest),
+                minVersions != null ? minVersions.versionsById() : Map.of());
+    }
 
-        List<Ride> filteredRides = rides.stream()
-                .filter(ride -> departure == null || departure.isEmpty() || ride.getDeparture().toLowerCase().contains(departure.toLowerCase()))
-                .filter(ride -> destination == null || destination.isEmpty() || ride.getDestination().toLowerCase().contains(destination.toLowerCase()))
-                .filter(ride -> finalStartDate == null || !ride.getDepartureTime().isBefore(finalStartDate))
-                .filter(ride -> finalEndDate == null || !ride.getDepartureTime().isAfter(finalEndDate))
+    @Override
+    @Transactional(readOnly = true)
+    public RideVersionPage getAllRidesVersions(String departure, String destination, String date,
+                                               PageRequestDto pageRequest) {
+        RideIdPage page = findAllRidesPage(departure, destination, date, pageRequest);
+        if (page.ids().isEmpty()) {
+            return new RideVersionPage(List.of(), page.nextCursor(), page.hasMore());
+        }
+        Map<Long, Long> versions = rideRepository.findVersionsByIdIn(page.ids()).stream()
+                .collect(Collectors.toMap(RideVersion::id, RideVersion::version));
+        // Rides deleted since the page was cached are left out, as in the response.
+        List<RideVersion> rides = page.ids().stream()
+                .filter(versions::containsKey)
+                .map(id -> new RideVersion(id, versions.get(id)))
                 .toList();
+        return new RideVersionPage(rides, page.nextCursor(), page.hasMore());
+    }
 
-        return filteredRides.stream()
-                .map(rideMapper::toRideResponseDto)
-                .toList();
+    private RideIdPage findAllRidesPage(String departure, String destination, String date,
+                                        PageRequestDto pageRequest) {
+        LocalDate departureDate = (date != null && !date.isEmpty()) ? LocalDate.parse(date) : null;
+        int pageSize = paginationProperties.resolvePageSize(pageRequest.size());
+        RideCursor cursor = CursorCodec.decodeRideCursor(pageRequest.cursor());
+
+        Specification<Ride> spec = Specification.where(RideSpecifications.departureContains(departure))
+                .and(RideSpecifications.destinationContains(destination))
+                .and(RideSpecifications.departsOn(departureDate));
+
+        RidePageQuery query = RidePageQuery.search(departure, destination, departureDate, cursor, pageSize);
+        return upcomingRideIndex.findPage(query)
+                .orElseGet(() -> rideResponseCache.getPage(query, () -> findRideIdPage(spec, cursor, pageSize)));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public RideResponseDto getRideById(Long id) {
-        Ride ride = rideRepository.findById(id)
+        return getRideById(id, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RideResponseDto getRideById(Long id, Long minVersion) {
+        return rideResponseCache.getRide(id, minVersion, rideId -> rideRepository.findResponsesByIdIn(List.of(rideId))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.RIDE_NOT_FOUND)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long getRideVersion(Long id) {
+        return rideRepository.findVersionById(id)
                 .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.RIDE_NOT_FOUND));
-        return rideMapper.toRideResponseDto(ride);
     }
 
     @Override
-    public List<RideResponseDto> getRidesByDriverId(Long driverId) {
-        if (!userRepository.existsById(driverId)) {
-            throw new EntityNotFoundException(ErrorMessages.DRIVER_NOT_FOUND);
-        }
-        return rideRepository.findAllByDriverId(driverId).stream()
-                .map(rideMapper::toRideResponseDto)
-                .toList();
+    @Transactional(readOnly = true)
+    public List<BatchItemResponseDto<RideResponseDto>> getRidesByIds(List<Long> ids) {
+        BatchResults.requireSize(ids, maxBatchSize);
+        Map<Long, RideResponseDto> found = rideResponseCache.getRides(ids, this::loadRides).stream()
+                .collect(Collectors.toMap(RideResponseDto::id, Function.identity(), (first, second) -> first));
+        return BatchResults.byId(ids, found, ErrorMessages.RIDE_NOT_FOUND);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDto<RideResponseDto> getRidesByDriverId(Long driverId, PageRequestDto pageRequest) {
+        int pageSize = paginationProperties.resolvePageSize(pageRequest.size());
+        RideCursor cursor = CursorCodec.decodeRideCursor(pageRequest.cursor());
+
+        RidePageQuery query = RidePageQuery.byDriver(driverId, cursor, pageSize);
+        return toResponsePage(rideResponseCache.getPage(query, () -> {
+            if (!userRepository.existsById(driverId)) {
+                throw new EntityNotFoundException(ErrorMessages.DRIVER_NOT_FOUND);
+            }
+            return findRideIdPage(RideSpecifications.hasDriverId(driverId), cursor, pageSize);
+        }));
     }
 
     @Override
-    public List<RideResponseDto> getRidesByDriverName(String driverName) {
+    @Transactional(readOnly = true)
+    public PageResponseDto<RideResponseDto> getRidesByDriverName(String driverName, PageRequestDto pageRequest) {
         if (!userRepository.existsByName(driverName)) {
             throw new EntityNotFoundException(ErrorMessages.DRIVER_NOT_FOUND);
         }
-        return rideRepository.findAllByDriverName(driverName).stream()
-                .map(rideMapper::toRideResponseDto)
-                .toList();
+        return findRidePage(RideSpecifications.hasDriverName(driverName), pageRequest);
     }
 
     @Override
-    public List<RideResponseDto> getRidesByPassengerId(Long passengerId) {
+    @Transactional(readOnly = true)
+    public PageResponseDto<RideResponseDto> getRidesByPassengerId(Long passengerId, PageRequestDto pageRequest) {
         if (!userRepository.existsById(passengerId)) {
             throw new EntityNotFoundException(ErrorMessages.PASSENGER_NOT_FOUND);
         }
-        return rideRepository.findAllByPassengerId(passengerId).stream()
-                .map(rideMapper::toRideResponseDto)
-                .toList();
+        return findRidePage(RideSpecifications.hasPassengerId(passengerId), pageRequest);
     }
 
     @Override
-    public List<RideResponseDto> getRidesByPassengerName(String passengerName) {
+    @Transactional(readOnly = true)
+    public PageResponseDto<RideResponseDto> getRidesByPassengerName(String passengerName,
+                                                                    PageRequestDto pageRequest) {
         if (!userRepository.existsByName(passengerName)) {
             throw new EntityNotFoundException(ErrorMessages.PASSENGER_NOT_FOUND);
         }
-        return rideRepository.findAllByPassengerName(passengerName).stream()
-                .map(rideMapper::toRideResponseDto)
+        return findRidePage(RideSpecifications.hasPassengerName(passengerName), pageRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RideResponseDto> searchRidesByLocation(String location, Integer size) {
+        String normalized = LocationNormalizer.normalize(location);
+        if (normalized == null || normalized.isEmpty()) {
+            throw new IllegalArgumentException("Location must not be blank");
+        }
+        int limit = paginationProperties.resolvePageSize(size);
+        return rideResponseCache.getRides(rideRepository.findIdsRankedByLocation(normalized, limit), this::loadRides);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RideMatchResponseDto> searchRidesNearby(NearbyRideSearchRequestDto request) {
+        GeoCircle from = new GeoCircle(request.fromLatitude(), request.fromLongitude(), request.fromRadiusKm());
+        GeoCircle to = new GeoCircle(request.toLatitude(), request.toLongitude(), request.toRadiusKm());
+        List<RideGeoMatch> matches = rideGeoIndex.findMatches(from, to,
+                paginationProperties.resolvePageSize(request.size()));
+
+        Map<Long, RideResponseDto> rides = rideResponseCache.getRides(
+                        matches.stream().map(RideGeoMatch::rideId).toList(), this::loadRides).stream()
+                .collect(Collectors.toMap(RideResponseDto::id, Function.identity()));
+        return matches.stream()
+                .filter(match -> rides.containsKey(match.rideId()))
+                .map(match -> new RideMatchResponseDto(rides.get(match.rideId()), match.pickupDistanceKm(),
+                        match.dropoffDistanceKm(), match.detourKm()))
                 .toList();
     }
 
@@ -109,9 +234,38 @@ public class RideServiceImpl implements RideService {
         Ride ride = rideMapper.toRide(rideRequestDto, driver);
 
         Ride savedRide = rideRepository.save(ride);
+        eventPublisher.publishEvent(new RideChangedEvent(savedRide.getId(), null, RideListing.of(savedRide)));
         return rideMapper.toRideResponseDto(savedRide);
     }
 
+    /**
+     * Validates each request on its own and creates the valid rides in one
+     * transaction; their inserts are sent in JDBC batches at commit. Invalid
+     * requests are reported at their index without affecting the others.
+     */
+    @Override
+    @Transactional
+    public List<BatchItemResponseDto<RideResponseDto>> createRides(List<RideRequestDto> rideRequestDtos,
+                                                                    Long driverId) {
+        BatchResults.requireSize(rideRequestDtos, maxBatchSize);
+        User driver = userRepository.findById(driverId)
+                .orElseThrow(() -> new EntityNotFoundException("Driver not found with id: " + driverId));
+
+        List<BatchItemResponseDto<RideResponseDto>> results = new ArrayList<>(rideRequestDtos.size());
+        for (int i = 0; i < rideRequestDtos.size(); i++) {
+            RideRequestDto request = rideRequestDtos.get(i);
+            String error = validationError(request);
+            if (error != null) {
+                results.add(BatchItemResponseDto.failure(i, error));
+                continue;
+            }
+            Ride ride = rideRepository.save(rideMapper.toRide(request, driver));
+            eventPublisher.publishEvent(new RideChangedEvent(ride.getId(), null, RideListing.of(ride)));
+            results.add(BatchItemResponseDto.success(i, rideMapper.toRideResponseDto(ride)));
+        }
+        return results;
+    }
+
     @Override
     @Transactional
     public RideResponseDto updateRide(Long id, RideRequestDto rideRequestDto, Long userId) {
@@ -120,6 +274,7 @@ public class RideServiceImpl implements RideService {
         if (!ride.getDriver().getId().equals(userId)) {
             throw new RuntimeException("Only the driver can update this ride");
         }
+        RideListing before = RideListing.of(ride);
 
         ride.setCar(rideRequestDto.car());
         ride.setSeatsCount(rideRequestDto.seatsCount());
@@ -127,8 +282,13 @@ public class RideServiceImpl implements RideService {
         ride.setDestination(rideRequestDto.destination());
         ride.setDepartureTime(rideRequestDto.departureTime());
         ride.setComment(rideRequestDto.comment());
+        rideMapper.setCoordinates(ride, rideRequestDto);
 
         Ride updatedRide = rideRepository.save(ride);
+        // Bumped in SQL: a booking committed since the ride was loaded has bumped it too.
+        rideRepository.bumpVersion(id);
+        updatedRide.setVersion(rideRepository.findVersionById(id).orElseThrow());
+        eventPublisher.publishEvent(new RideChangedEvent(id, before, RideListing.of(updatedRide)));
         return rideMapper.toRideResponseDto(updatedRide);
     }
 
@@ -140,50 +300,90 @@ public class RideServiceImpl implements RideService {
         if (!ride.getDriver().getId().equals(userId)) {
             throw new RuntimeException("Only the driver can delete this ride");
         }
+        eventPublisher.publishEvent(new RideChangedEvent(id, RideListing.of(ride), null));
         rideRepository.delete(ride);
     }
 
     @Override
-    @Transactional
+    @Retryable(
+            retryFor = ConcurrencyFailureException.class,
+            maxAttemptsExpression = "${booking.retry.max-attempts:3}",
+            backoff = @Backoff(delayExpression = "${booking.retry.backoff-ms:20}", multiplier = 2, random = true)
+    )
     public void addPassengerToRide(Long rideId, Long userId) {
-        Ride ride = rideRepository.findById(rideId)
-                .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.RIDE_NOT_FOUND));
-        User passenger = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.USER_NOT_FOUND));
+        seatBookingEngine.book(rideId, userId);
+        eventPublisher.publishEvent(new RidePassengersChangedEvent(rideId));
+    }
 
-        if (ride.getDriver().getId().equals(userId)) {
-            throw new IllegalArgumentException("User is already a driver on this ride");
+    @Override
+    @Retryable(
+            retryFor = ConcurrencyFailureException.class,
+            maxAttemptsExpression = "${booking.retry.max-attempts:3}",
+            backoff = @Backoff(delayExpression = "${booking.retry.backoff-ms:20}", multiplier = 2, random = true)
+    )
+    public void removePassengerFromRide(Long rideId, Long userId) {
+        seatBookingEngine.release(rideId, userId);
+        eventPublisher.publishEvent(new RidePassengersChangedEvent(rideId));
+    }
+
+    private String validationError(RideRequestDto request) {
+        if (request == null) {
+            return "Ride must not be null";
         }
+        Set<ConstraintViolation<RideRequestDto>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private PageResponseDto<RideResponseDto> findRidePage(Specification<Ride> spec, PageRequestDto pageRequest) {
+        int pageSize = paginationProperties.resolvePageSize(pageRequest.size());
+        RideCursor cursor = CursorCodec.decodeRideCursor(pageRequest.cursor());
+        return toResponsePage(findRideIdPage(spec, cursor, pageSize));
+    }
 
-        if (ride.getPassengers().contains(passenger)) {
-            throw new IllegalArgumentException("User is already a passenger on this ride");
+    private RideIdPage findRideIdPage(Specification<Ride> spec, RideCursor cursor, int pageSize) {
+        if (cursor != null) {
+            spec = Specification.where(spec)
+                    .and(RideSpecifications.after(cursor.departureTime(), cursor.id()));
         }
 
-        if (ride.getSeatsCount() <= 0) {
-            throw new IllegalArgumentException("No available seats on this ride");
+        List<RideCursor> positions = rideRepository.findCursors(spec, RIDE_KEYSET_ORDER, pageSize + 1);
+        boolean hasMore = positions.size() > pageSize;
+        if (hasMore) {
+            positions = positions.subList(0, pageSize);
+        }
+        if (positions.isEmpty()) {
+            return new RideIdPage(List.of(), null, null, false);
         }
 
-        ride.getPassengers().add(passenger);
-        int actualSeatsCount = ride.getSeatsCount() - 1;
-        ride.setSeatsCount(actualSeatsCount);
-        rideRepository.save(ride);
+        RideCursor last = positions.get(positions.size() - 1);
+        String nextCursor = hasMore ? CursorCodec.encodeRideCursor(last) : null;
+        return new RideIdPage(positions.stream().map(RideCursor::id).toList(), last, nextCursor, hasMore);
     }
 
-    @Override
-    @Transactional
-    public void removePassengerFromRide(Long rideId, Long userId) {
-        Ride ride = rideRepository.findById(rideId)
-                .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.RIDE_NOT_FOUND));
-        User passenger = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.USER_NOT_FOUND));
+    private PageResponseDto<RideResponseDto> toResponsePage(RideIdPage page) {
+        return toResponsePage(page, Map.of());
+    }
 
-        if (!ride.getPassengers().contains(passenger)) {
-            throw new IllegalArgumentException("User is not a passenger on this ride");
-        }
+    private PageResponseDto<RideResponseDto> toResponsePage(RideIdPage page, Map<Long, Long> minVersions) {
+        return new PageResponseDto<>(
+                rideResponseCache.getRides(page.ids(), minVersions, this::loadRides),
+                page.nextCursor(),
+                page.hasMore()
+        );
+    }
 
-        ride.getPassengers().remove(passenger);
-        int actualSeatsCount = ride.getSeatsCount() + 1;
-        ride.setSeatsCount(actualSeatsCount);
-        rideRepository.save(ride);
+    /**
+     * Loads rides with their driver and passengers in a single projection
+     * statement, without loading entities.
+     */
+    private Map<Long, RideResponseDto> loadRides(Collection<? extends Long> ids) {
+        return rideRepository.findResponsesByIdIn(List.copyOf(ids)).stream()
+                .collect(Collectors.toMap(RideResponseDto::id, Function.identity()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,81 @@
+package com.example.hitchhikingservice.service.impl;
+
+import com.example.hitchhikingservice.exception.EntityNotFoundException;
+import com.example.hitchhikingservice.repository.RideRepository;
+import com.example.hitchhikingservice.repository.UserRepository;
+import com.example.hitchhikingservice.utils.ErrorMessages;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.ConstraintViolationException.ConstraintKind;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Books and releases seats without loading the ride or its passenger list.
+ * Overbooking is prevented by the database, not by a read-check-write in Java:
+ * the passenger row is inserted under the {@code (ride_id, user_id)} primary
+ * key and the seat is taken by a conditional decrement, both in one
+ * transaction.
+ */
+@Component
+@RequiredArgsConstructor
+class SeatBookingEngine {
+
+    private final RideRepository rideRepository;
+    private final UserRepository userRepository;
+
+    @Transactional
+    public void book(Long rideId, Long userId) {
+        Long driverId = rideRepository.findDriverIdById(rideId)
+                .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.RIDE_NOT_FOUND));
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException(ErrorMessages.USER_NOT_FOUND);
+        }
+
+        if (driverId.equals(userId)) {
+            throw new IllegalArgumentException(ErrorMessages.ALREADY_DRIVER);
+        }
+
+        if (rideRepository.existsPassenger(rideId, userId)) {
+            throw new IllegalArgumentException(ErrorMessages.ALREADY_PASSENGER);
+        }
+
+        try {
+            rideRepository.insertPassenger(rideId, userId);
+        } catch (DataIntegrityViolationException e) {
+            if (isUniqueViolation(e)) {
+                // A concurrent join of the same user won the primary key race.
+                throw new IllegalArgumentException(ErrorMessages.ALREADY_PASSENGER, e);
+            }
+            throw e;
+        }
+        if (rideRepository.takeSeat(rideId) == 0) {
+            throw new IllegalArgumentException(ErrorMessages.NO_AVAILABLE_SEATS);
+        }
+    }
+
+    @Transactional
+    public void release(Long rideId, Long userId) {
+        if (!rideRepository.existsById(rideId)) {
+            throw new EntityNotFoundException(ErrorMessages.RIDE_NOT_FOUND);
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException(ErrorMessages.USER_NOT_FOUND);
+        }
+
+        if (rideRepository.deletePassenger(rideId, userId) == 0) {
+            throw new IllegalArgumentException(ErrorMessages.NOT_A_PASSENGER);
+        }
+        rideRepository.releaseSeat(rideId);
+    }
+
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getKind() == ConstraintKind.UNIQUE;
+            }
+        }
+        return false;
+    }
+}
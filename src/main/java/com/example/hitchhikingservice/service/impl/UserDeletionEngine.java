@@ -0,0 +1,153 @@
+package com.example.hitchhikingservice.service.impl;
+
+import com.example.hitchhikingservice.model.dto.response.UserDeletionStatusDto;
+import com.example.hitchhikingservice.model.dto.response.UserDeletionStatusDto.State;
+import com.example.hitchhikingservice.repository.RideRepository;
+import com.example.hitchhikingservice.repository.UserRepository;
+import com.example.hitchhikingservice.service.event.RideChangedEvent;
+import com.example.hitchhikingservice.service.event.RideListing;
+import com.example.hitchhikingservice.service.event.RidePassengersChangedEvent;
+import com.example.hitchhikingservice.service.event.UserChangedEvent;
+import com.example.hitchhikingservice.utils.ErrorMessages;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes users with set-based statements instead of loading their rides.
+ * The rides a user drives are deleted with their passenger rows in chunks of
+ * {@code users.deletion.chunk-size}, each chunk in its own transaction; a
+ * last transaction gives back the seats the user held on other rides, removes
+ * them as a passenger and deletes the user row. A deletion that stopped
+ * half-way can simply be run again.
+ *
+ * <p>Every deleted or freed-up ride is published as an event, so the caches
+ * and indexes drop it once its chunk commits. Background deletions run on the
+ * application task executor and keep their status for
+ * {@code users.deletion.status-ttl-ms} after finishing.
+ */
+@Slf4j
+@Component
+class UserDeletionEngine {
+
+    private final RideRepository rideRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final AsyncTaskExecutor executor;
+    private final int chunkSize;
+    private final Cache<Long, UserDeletionStatusDto> statuses;
+
+    // The parameter name selects Boot's executor over the task scheduler, which is one too.
+    UserDeletionEngine(RideRepository rideRepository, UserRepository userRepository,
+                       ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                       AsyncTaskExecutor applicationTaskExecutor,
+                       @Value("${users.deletion.chunk-size:500}") int chunkSize,
+                       @Value("${users.deletion.status-ttl-ms:3600000}") long statusTtlMs) {
+        this.rideRepository = rideRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.executor = applicationTaskExecutor;
+        this.chunkSize = chunkSize;
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(statusTtlMs))
+                .build();
+    }
+
+    /**
+     * Deletes the user on the calling thread.
+     */
+    void delete(Long userId) {
+        delete(userId, deleted -> { });
+    }
+
+    /**
+     * Starts deleting the user in the background and returns its initial status.
+     *
+     * @throws IllegalStateException if a deletion of this user is already running
+     */
+    UserDeletionStatusDto start(Long userId) {
+        UserDeletionStatusDto running = new UserDeletionStatusDto(userId, State.RUNNING,
+                rideRepository.countByDriverId(userId), 0, null);
+        statuses.asMap().compute(userId, (id, previous) -> {
+            if (previous != null && previous.state() == State.RUNNING) {
+                throw new IllegalStateException(ErrorMessages.USER_DELETION_IN_PROGRESS);
+            }
+            return running;
+        });
+        executor.execute(() -> deleteTracked(running));
+        return running;
+    }
+
+    Optional<UserDeletionStatusDto> status(Long userId) {
+        return Optional.ofNullable(statuses.getIfPresent(userId));
+    }
+
+    private void deleteTracked(UserDeletionStatusDto started) {
+        Long userId = started.userId();
+        long[] ridesDeleted = {0};
+        try {
+            delete(userId, deleted -> {
+                ridesDeleted[0] += deleted;
+                statuses.put(userId, new UserDeletionStatusDto(userId, State.RUNNING,
+                        Math.max(started.ridesTotal(), ridesDeleted[0]), ridesDeleted[0], null));
+            });
+            statuses.put(userId, new UserDeletionStatusDto(userId, State.COMPLETED,
+                    Math.max(started.ridesTotal(), ridesDeleted[0]), ridesDeleted[0], null));
+        } catch (RuntimeException e) {
+            log.warn("Deleting user {} failed after {} rides", userId, ridesDeleted[0], e);
+            statuses.put(userId, new UserDeletionStatusDto(userId, State.FAILED,
+                    started.ridesTotal(), ridesDeleted[0], ErrorMessages.USER_DELETION_FAILED));
+        }
+    }
+
+    private void delete(Long userId, IntConsumer onChunk) {
+        int deleted;
+        while ((deleted = transaction.execute(status -> deleteDrivenRides(userId, chunkSize))) > 0) {
+            onChunk.accept(deleted);
+        }
+        transaction.executeWithoutResult(status -> {
+            // Rides created since the last chunk are deleted together with the user.
+            int late = deleteDrivenRides(userId, Integer.MAX_VALUE);
+            if (late > 0) {
+                onChunk.accept(late);
+            }
+            deleteSeatsAndUser(userId);
+        });
+    }
+
+    private int deleteDrivenRides(Long userId, int limit) {
+        List<RideListing> rides = rideRepository.findListingsByDriverId(userId, Limit.of(limit));
+        if (rides.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = rides.stream().map(RideListing::id).toList();
+        rideRepository.deletePassengersOfRides(ids);
+        rideRepository.deleteByIds(ids);
+        rides.forEach(ride -> eventPublisher.publishEvent(new RideChangedEvent(ride.id(), ride, null)));
+        return rides.size();
+    }
+
+    private void deleteSeatsAndUser(Long userId) {
+        List<Long> joinedRideIds = rideRepository.findRideIdsByPassengerId(userId);
+        if (!joinedRideIds.isEmpty()) {
+            rideRepository.releaseSeatsOfPassenger(userId);
+            rideRepository.deletePassengerFromAllRides(userId);
+            joinedRideIds.forEach(rideId -> eventPublisher.publishEvent(new RidePassengersChangedEvent(rideId)));
+        }
+        userRepository.deleteRowById(userId);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, true));
+    }
+}
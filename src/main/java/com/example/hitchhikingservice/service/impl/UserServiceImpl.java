@@ -1,19 +1,33 @@
 package com.example.hitchhikingservice.service.impl;
 
+import com.example.hitchhikingservice.config.PaginationProperties;
 import com.example.hitchhikingservice.exception.EntityNotFoundException;
+import com.example.hitchhikingservice.model.dto.request.PageRequestDto;
 import com.example.hitchhikingservice.model.dto.request.UserRequestDto;
+import com.example.hitchhikingservice.model.dto.response.BatchItemResponseDto;
+import com.example.hitchhikingservice.model.dto.response.PageResponseDto;
+import com.example.hitchhikingservice.model.dto.response.UserDeletionStatusDto;
 import com.example.hitchhikingservice.model.dto.response.UserResponseDto;
-import com.example.hitchhikingservice.model.entity.Ride;
 import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.repository.RideRepository;
 import com.example.hitchhikingservice.repository.UserRepository;
 import com.example.hitchhikingservice.service.UserService;
+import com.example.hitchhikingservice.service.event.UserChangedEvent;
 import com.example.hitchhikingservice.service.mapper.UserMapper;
+import com.example.hitchhikingservice.service.pagination.CursorCodec;
+import com.example.hitchhikingservice.utils.BatchResults;
 import com.example.hitchhikingservice.utils.ErrorMessages;
-import jakarta.transaction.Transactional;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -21,20 +35,45 @@ import org.springframework.stereotype.Service;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final RideRepository rideRepository;
     private final UserMapper userMapper;
+    private final PaginationProperties paginationProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserDeletionEngine userDeletionEngine;
+
+    @Value("${batch.max-size:100}")
+    private int maxBatchSize;
 
     @Override
-    public List<UserResponseDto> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(userMapper::toUserResponseDto)
-                .toList();
+    @Transactional(readOnly = true)
+    public PageResponseDto<UserResponseDto> getAllUsers(PageRequestDto pageRequest) {
+        int pageSize = paginationProperties.resolvePageSize(pageRequest.size());
+        Long afterId = CursorCodec.decodeUserCursor(pageRequest.cursor());
+
+        List<UserResponseDto> users = userRepository.findResponsesAfterId(
+                afterId != null ? afterId : 0L, Limit.of(pageSize + 1));
+
+        boolean hasMore = users.size() > pageSize;
+        List<UserResponseDto> page = hasMore ? users.subList(0, pageSize) : users;
+        String nextCursor = hasMore ? CursorCodec.encodeUserCursor(page.get(page.size() - 1).id()) : null;
+
+        return new PageResponseDto<>(List.copyOf(page), nextCursor, hasMore);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserResponseDto getUserById(Long id) {
-        User user = userRepository.findById(id)
+        return userRepository.findResponseById(id)
                 .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.USER_NOT_FOUND));
-        return userMapper.toUserResponseDto(user);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BatchItemResponseDto<UserResponseDto>> getUsersByIds(List<Long> ids) {
+        BatchResults.requireSize(ids, maxBatchSize);
+        Map<Long, UserResponseDto> found = userRepository.findResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(UserResponseDto::id, Function.identity()));
+        return BatchResults.byId(ids, found, ErrorMessages.USER_NOT_FOUND);
     }
 
     @Override
@@ -47,26 +86,39 @@ public class UserServiceImpl implements UserService {
         user.setPhone(userRequestDto.phone());
 
         User updatedUser = userRepository.save(user);
+        rideRepository.bumpVersionsOfRidesWithUser(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id, false));
         return userMapper.toUserResponseDto(updatedUser);
     }
 
     @Override
-    @Transactional
     public void deleteUserById(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.USER_NOT_FOUND));
+        requireUser(id);
+        userDeletionEngine.delete(id);
+    }
 
-        for (Ride ride : user.getRidesAsPassenger()) {
-            ride.getPassengers().remove(user);
-        }
+    @Override
+    public UserDeletionStatusDto startUserDeletion(Long id) {
+        requireUser(id);
+        return userDeletionEngine.start(id);
+    }
 
-        userRepository.deleteById(id);
+    @Override
+    public UserDeletionStatusDto getUserDeletionStatus(Long id) {
+        return userDeletionEngine.status(id)
+                .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.USER_DELETION_NOT_FOUND));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserResponseDto getUserByEmail(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
+        return userRepository.findResponseByEmail(userEmail)
                 .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.USER_NOT_FOUND));
-        return userMapper.toUserResponseDto(user);
+    }
+
+    private void requireUser(Long id) {
+        if (!userRepository.existsById(id)) {
+            throw new EntityNotFoundException(ErrorMessages.USER_NOT_FOUND);
+        }
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.example.hitchhikingservice.service.mapper;
 
+import com.example.hitchhikingservice.model.dto.request.GeoPointRequestDto;
 import com.example.hitchhikingservice.model.dto.request.RideRequestDto;
+import com.example.hitchhikingservice.model.dto.response.GeoPointResponseDto;
 import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
 import com.example.hitchhikingservice.model.entity.Ride;
 import com.example.hitchhikingservice.model.entity.User;
@@ -23,7 +25,10 @@ public class RideMapper {
                 ride.getDepartureTime(),
                 ride.getComment(),
                 userMapper.toUserResponseDto(ride.getDriver()),
-                ride.getPassengers().stream().map(userMapper::toUserResponseDto).toList()
+                ride.getPassengers().stream().map(userMapper::toUserResponseDto).toList(),
+                GeoPointResponseDto.of(ride.getDepartureLatitude(), ride.getDepartureLongitude()),
+                GeoPointResponseDto.of(ride.getDestinationLatitude(), ride.getDestinationLongitude()),
+                ride.getVersion()
         );
     }
 
@@ -36,7 +41,21 @@ public class RideMapper {
         ride.setDestination(dto.destination());
         ride.setDepartureTime(dto.departureTime());
         ride.setComment(dto.comment());
+        setCoordinates(ride, dto);
         return ride;
     }
+
+    /**
+     * Copies the optional endpoint coordinates of {@code dto}, clearing those
+     * it leaves out.
+     */
+    public void setCoordinates(Ride ride, RideRequestDto dto) {
+        GeoPointRequestDto departure = dto.departurePoint();
+        GeoPointRequestDto destination = dto.destinationPoint();
+        ride.setDepartureLatitude(departure != null ? departure.latitude() : null);
+        ride.setDepartureLongitude(departure != null ? departure.longitude() : null);
+        ride.setDestinationLatitude(destination != null ? destination.latitude() : null);
+        ride.setDestinationLongitude(destination != null ? destination.longitude() : null);
+    }
 }
 
@@ -0,0 +1,67 @@
+package com.example.hitchhikingservice.service.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions into opaque, URL-safe continuation tokens.
+ * Clients must treat the token as a black box and pass it back unchanged.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+    private static final String INVALID_CURSOR = "Invalid cursor";
+
+    private CursorCodec() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static String encodeRideCursor(RideCursor position) {
+        return encode(position.departureTime() + SEPARATOR + position.id());
+    }
+
+    public static RideCursor decodeRideCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String[] parts = decode(cursor).split("\\" + SEPARATOR, 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+        try {
+            return new RideCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR, e);
+        }
+    }
+
+    public static String encodeUserCursor(Long id) {
+        return encode(String.valueOf(id));
+    }
+
+    public static Long decodeUserCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(decode(cursor));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR, e);
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR, e);
+        }
+    }
+}
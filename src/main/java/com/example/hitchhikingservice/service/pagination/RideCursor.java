@@ -0,0 +1,8 @@
+package com.example.hitchhikingservice.service.pagination;
+
+import java.time.LocalDateTime;
+
+public record RideCursor(
+        LocalDateTime departureTime,
+        Long id
+) {}
@@ -0,0 +1,14 @@
+package com.example.hitchhikingservice.service.pagination;
+
+import java.util.List;
+
+/**
+ * One keyset page of ride ids. {@code last} is the position of the last ride
+ * on the page, or {@code null} for an empty page.
+ */
+public record RideIdPage(
+        List<Long> ids,
+        RideCursor last,
+        String nextCursor,
+        boolean hasMore
+) {}
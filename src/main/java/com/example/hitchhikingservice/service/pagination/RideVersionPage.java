@@ -0,0 +1,21 @@
+package com.example.hitchhikingservice.service.pagination;
+
+import com.example.hitchhikingservice.repository.RideVersion;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The ids and versions of the rides on one page, in order, with the page's
+ * continuation: everything its ETag depends on, without the responses.
+ */
+public record RideVersionPage(
+        List<RideVersion> rides,
+        String nextCursor,
+        boolean hasMore
+) {
+
+    public Map<Long, Long> versionsById() {
+        return rides.stream().collect(Collectors.toMap(RideVersion::id, RideVersion::version));
+    }
+}
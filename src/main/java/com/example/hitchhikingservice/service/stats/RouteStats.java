@@ -0,0 +1,87 @@
+package com.example.hitchhikingservice.service.stats;
+
+import com.example.hitchhikingservice.model.dto.response.RouteStatsResponseDto;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Request statistics of a single route. Counters are striped {@link LongAdder}s
+ * and latencies go into a concurrent HdrHistogram, so recording never blocks
+ * and hot routes do not contend on a single atomic.
+ *
+ * <p>Status counters hold only the hits not yet persisted; they are drained by
+ * the write-behind flush and merged with the persisted totals when read.
+ */
+public class RouteStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Integer, LongAdder> pendingStatusCodes = new ConcurrentHashMap<>();
+    private final Histogram latencyMicros = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+
+    public void record(int status, long latencyNanos) {
+        addPending(status, 1);
+        long micros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+        latencyMicros.recordValue(Math.min(micros, MAX_TRACKABLE_MICROS));
+    }
+
+    public void addPending(int status, long hits) {
+        pendingStatusCodes.computeIfAbsent(status, code -> new LongAdder()).add(hits);
+    }
+
+    /**
+     * Returns and resets the hits recorded since the last drain, by status code.
+     */
+    public Map<Integer, Long> drainPending() {
+        Map<Integer, Long> drained = new TreeMap<>();
+        pendingStatusCodes.forEach((status, counter) -> {
+            long hits = counter.sumThenReset();
+            if (hits > 0) {
+                drained.put(status, hits);
+            }
+        });
+        return drained;
+    }
+
+    /**
+     * Builds the route view from the {@code persisted} per-status totals plus
+     * the pending local hits. Latency percentiles cover this process only.
+     */
+    public RouteStatsResponseDto snapshot(Map<Integer, Long> persisted) {
+        Map<Integer, Long> statuses = new TreeMap<>(persisted);
+        pendingStatusCodes.forEach((status, counter) -> statuses.merge(status, counter.sum(), Long::sum));
+        statuses.values().removeIf(hits -> hits == 0);
+        Histogram latencies = latencyMicros.copy();
+        return new RouteStatsResponseDto(
+                statuses.values().stream().mapToLong(Long::longValue).sum(),
+                toMillis(latencies.getValueAtPercentile(50)),
+                toMillis(latencies.getValueAtPercentile(99)),
+                toMillis(latencies.getValueAtPercentile(99.9)),
+                toMillis(latencies.getMaxValue()),
+                statuses
+        );
+    }
+
+    /**
+     * Builds the view of a route that was only served by other replicas or
+     * before the last restart, so no local latencies are known.
+     */
+    public static RouteStatsResponseDto persistedOnly(Map<Integer, Long> persisted) {
+        Map<Integer, Long> statuses = new TreeMap<>(persisted);
+        return new RouteStatsResponseDto(
+                statuses.values().stream().mapToLong(Long::longValue).sum(),
+                0, 0, 0, 0,
+                statuses
+        );
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+}
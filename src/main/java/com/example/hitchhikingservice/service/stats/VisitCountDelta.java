@@ -0,0 +1,7 @@
+package com.example.hitchhikingservice.service.stats;
+
+public record VisitCountDelta(
+        String route,
+        int status,
+        long hits
+) {}
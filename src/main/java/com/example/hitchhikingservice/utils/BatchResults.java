@@ -0,0 +1,38 @@
+package com.example.hitchhikingservice.utils;
+
+import com.example.hitchhikingservice.model.dto.response.BatchItemResponseDto;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helpers shared by the batch endpoints.
+ */
+public final class BatchResults {
+
+    private BatchResults() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static void requireSize(Collection<?> items, int maxSize) {
+        if (items.size() > maxSize) {
+            throw new IllegalArgumentException(ErrorMessages.BATCH_TOO_LARGE);
+        }
+    }
+
+    /**
+     * Returns one result per requested id, in request order, reporting
+     * {@code notFound} for ids missing from {@code found}.
+     */
+    public static <T> List<BatchItemResponseDto<T>> byId(List<Long> ids, Map<Long, T> found, String notFound) {
+        List<BatchItemResponseDto<T>> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            T item = found.get(ids.get(i));
+            results.add(item != null
+                    ? BatchItemResponseDto.success(i, item)
+                    : BatchItemResponseDto.failure(i, notFound));
+        }
+        return results;
+    }
+}
@@ -6,6 +6,17 @@ public class ErrorMessages {
     public static final String DRIVER_NOT_FOUND = "Driver not found";
     public static final String PASSENGER_NOT_FOUND = "Passenger not found";
     public static final String FILE_NOT_FOUND = "File not found";
+    public static final String ALREADY_DRIVER = "User is already a driver on this ride";
+    public static final String ALREADY_PASSENGER = "User is already a passenger on this ride";
+    public static final String NOT_A_PASSENGER = "User is not a passenger on this ride";
+    public static final String NO_AVAILABLE_SEATS = "No available seats on this ride";
+    public static final String DATABASE_BUSY = "Service is busy, please retry later";
+    public static final String BATCH_TOO_LARGE = "Batch contains too many items";
+    public static final String TOO_MANY_ATTEMPTS = "Too many attempts, please retry later";
+    public static final String USER_DELETION_IN_PROGRESS = "Deletion of this user is already in progress";
+    public static final String USER_DELETION_NOT_FOUND = "No deletion of this user was started";
+    public static final String USER_DELETION_FAILED = "Deletion failed, start it again to continue";
+    public static final String AUTHENTICATION_BUSY = "Authentication is busy, please retry later";
 
     private ErrorMessages() {
         // Private constructor to prevent instantiation
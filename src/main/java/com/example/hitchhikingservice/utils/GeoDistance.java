@@ -0,0 +1,47 @@
+package com.example.hitchhikingservice.utils;
+
+/**
+ * Great-circle distances on a spherical Earth. The error against the WGS84
+ * ellipsoid stays below 0.5%, which is well inside what matching rides needs.
+ */
+public final class GeoDistance {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private GeoDistance() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Returns the distance in kilometres between two points given in degrees.
+     */
+    public static double km(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double phi1 = Math.toRadians(latitude1);
+        double phi2 = Math.toRadians(latitude2);
+        return km(haversine(phi1, Math.cos(phi1), Math.toRadians(longitude1),
+                phi2, Math.cos(phi2), Math.toRadians(longitude2)));
+    }
+
+    /**
+     * Returns the haversine of the central angle between two points given in
+     * radians, with the cosines of their latitudes precomputed. It grows with
+     * the distance, so it can be compared against {@link #haversineOf} without
+     * the inverse trigonometry of {@link #km(double)}.
+     */
+    public static double haversine(double phi1, double cosPhi1, double lambda1,
+                                   double phi2, double cosPhi2, double lambda2) {
+        double sinLatitude = Math.sin((phi2 - phi1) / 2);
+        double sinLongitude = Math.sin((lambda2 - lambda1) / 2);
+        return sinLatitude * sinLatitude + cosPhi1 * cosPhi2 * sinLongitude * sinLongitude;
+    }
+
+    public static double km(double haversine) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(haversine)));
+    }
+
+    public static double haversineOf(double km) {
+        double sin = Math.sin(km / (2 * EARTH_RADIUS_KM));
+        return sin * sin;
+    }
+}
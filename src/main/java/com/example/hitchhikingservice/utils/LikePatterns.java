@@ -0,0 +1,28 @@
+package com.example.hitchhikingservice.utils;
+
+/**
+ * Builds SQL {@code LIKE} patterns from user input, escaping the wildcard
+ * characters with {@link #ESCAPE}.
+ */
+public final class LikePatterns {
+
+    public static final char ESCAPE = '\\';
+
+    private LikePatterns() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static String contains(String value) {
+        return "%" + escape(value) + "%";
+    }
+
+    public static String startsWith(String value) {
+        return escape(value) + "%";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
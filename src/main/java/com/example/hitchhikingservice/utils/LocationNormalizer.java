@@ -0,0 +1,36 @@
+package com.example.hitchhikingservice.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Folds free-text locations into the form stored in the {@code *_normalized}
+ * ride columns: accents stripped, lower-cased and with whitespace collapsed.
+ * Search input must go through the same function to match.
+ */
+public final class LocationNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private LocationNormalizer() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static String normalize(String location) {
+        if (location == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(location, Normalizer.Form.NFKD);
+        String folded = COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .replace('ł', 'l')
+                .replace('Ł', 'L')
+                .replace('ø', 'o')
+                .replace('Ø', 'O')
+                .replace('đ', 'd')
+                .replace('Đ', 'D')
+                .toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(folded).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.hitchhikingservice.utils;
+
+import com.example.hitchhikingservice.model.dto.response.PageResponseDto;
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.repository.RideVersion;
+import com.example.hitchhikingservice.service.pagination.RideVersionPage;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Strong ETags of ride responses, computed alike from a built response and
+ * from the ride versions alone. A ride's tag is its id and version; a page's
+ * tag is a digest of the ids and versions of its rides, in order, and of its
+ * continuation.
+ */
+public final class RideETags {
+
+    private static final int DIGEST_BYTES = 16;
+
+    private RideETags() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static String of(RideResponseDto ride) {
+        return ofRide(ride.id(), ride.version());
+    }
+
+    public static String ofRide(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    public static String of(PageResponseDto<RideResponseDto> page) {
+        return ofPage(page.items().stream().map(ride -> new RideVersion(ride.id(), ride.version())).toList(),
+                page.nextCursor(), page.hasMore());
+    }
+
+    public static String of(RideVersionPage page) {
+        return ofPage(page.rides(), page.nextCursor(), page.hasMore());
+    }
+
+    private static String ofPage(List<RideVersion> rides, String nextCursor, boolean hasMore) {
+        StringBuilder content = new StringBuilder();
+        for (RideVersion ride : rides) {
+            content.append(ride.id()).append(':').append(ride.version()).append(';');
+        }
+        content.append('|').append(nextCursor).append('|').append(hasMore);
+        byte[] digest = sha256().digest(content.toString().getBytes(StandardCharsets.UTF_8));
+        return "\"" + HexFormat.of().formatHex(digest, 0, DIGEST_BYTES) + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,3 @@
+-- Bumped whenever a ride's response changes: its own fields, its passengers or
+-- the profile of its driver or a passenger. Ride ETags are derived from it.
+ALTER TABLE rides ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
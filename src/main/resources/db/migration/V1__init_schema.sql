@@ -0,0 +1,27 @@
+-- Schema previously created by hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE users (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name     VARCHAR(255) NOT NULL,
+    email    VARCHAR(255) NOT NULL UNIQUE,
+    phone    VARCHAR(255) UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role     VARCHAR(255) NOT NULL CHECK (role IN ('USER', 'ADMIN'))
+);
+
+CREATE TABLE rides (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    driver_id      BIGINT       NOT NULL REFERENCES users (id),
+    car            VARCHAR(255),
+    seats_count    INTEGER      NOT NULL,
+    departure      VARCHAR(255) NOT NULL,
+    destination    VARCHAR(255) NOT NULL,
+    departure_time TIMESTAMP WITH TIME ZONE,
+    comment        VARCHAR(255)
+);
+
+CREATE TABLE ride_passengers (
+    ride_id BIGINT NOT NULL REFERENCES rides (id),
+    user_id BIGINT NOT NULL REFERENCES users (id)
+);
@@ -0,0 +1,5 @@
+-- Accent-folded, lower-cased copies of departure/destination used for search.
+-- Filled by V3 (BackfillNormalizedLocationsMigration) and by Ride#normalizeLocations.
+
+ALTER TABLE rides ADD COLUMN departure_normalized VARCHAR(255);
+ALTER TABLE rides ADD COLUMN destination_normalized VARCHAR(255);
@@ -0,0 +1,2 @@
+ALTER TABLE rides ALTER COLUMN departure_normalized SET NOT NULL;
+ALTER TABLE rides ALTER COLUMN destination_normalized SET NOT NULL;
@@ -0,0 +1,14 @@
+-- Indexes backing the RideRepository and UserRepository queries.
+
+-- Keyset pagination of ride listings: ORDER BY departure_time, id.
+CREATE INDEX idx_rides_departure_time_id ON rides (departure_time, id);
+
+-- Rides of a driver, already in keyset order.
+CREATE INDEX idx_rides_driver_id_departure_time_id ON rides (driver_id, departure_time, id);
+
+-- Rides of a passenger (user_id lookup) and passengers of a ride (ride_id lookup).
+CREATE INDEX idx_ride_passengers_user_id_ride_id ON ride_passengers (user_id, ride_id);
+CREATE INDEX idx_ride_passengers_ride_id ON ride_passengers (ride_id);
+
+-- existsByName, findByName and the driver/passenger name searches.
+CREATE INDEX idx_users_name ON users (name);
@@ -0,0 +1,34 @@
+-- Earlier versions could book the same passenger twice and oversell seats.
+-- Collapse duplicate passenger rows to one, give each removed duplicate its
+-- seat back and clamp oversold rides to zero, so the constraints below apply.
+CREATE TABLE ride_passengers_duplicates AS
+SELECT ride_id, user_id, COUNT(*) AS copies
+FROM ride_passengers
+GROUP BY ride_id, user_id
+HAVING COUNT(*) > 1;
+
+UPDATE rides
+SET seats_count = seats_count + (SELECT SUM(d.copies - 1)
+                                 FROM ride_passengers_duplicates d
+                                 WHERE d.ride_id = rides.id)
+WHERE id IN (SELECT ride_id FROM ride_passengers_duplicates);
+
+DELETE FROM ride_passengers
+WHERE (ride_id, user_id) IN (SELECT ride_id, user_id FROM ride_passengers_duplicates);
+
+INSERT INTO ride_passengers (ride_id, user_id)
+SELECT ride_id, user_id FROM ride_passengers_duplicates;
+
+DROP TABLE ride_passengers_duplicates;
+
+UPDATE rides SET seats_count = 0 WHERE seats_count < 0;
+
+-- A user can hold at most one seat per ride; the primary key makes concurrent
+-- duplicate joins fail instead of double-booking.
+ALTER TABLE ride_passengers ADD CONSTRAINT pk_ride_passengers PRIMARY KEY (ride_id, user_id);
+
+-- Superseded by the primary key index, which starts with ride_id.
+DROP INDEX idx_ride_passengers_ride_id;
+
+-- Seats are taken with a conditional decrement; never let the count go negative.
+ALTER TABLE rides ADD CONSTRAINT chk_rides_seats_count_non_negative CHECK (seats_count >= 0);
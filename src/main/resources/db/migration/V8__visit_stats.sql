@@ -0,0 +1,7 @@
+-- Request counts per route and status code, accumulated by every replica.
+CREATE TABLE visit_stats (
+    route  VARCHAR(255) NOT NULL,
+    status INTEGER      NOT NULL,
+    hits   BIGINT       NOT NULL,
+    PRIMARY KEY (route, status)
+);
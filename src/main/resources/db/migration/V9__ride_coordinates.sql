@@ -0,0 +1,5 @@
+-- Optional WGS84 coordinates of ride endpoints, used by the in-memory geo index.
+ALTER TABLE rides ADD COLUMN departure_latitude DOUBLE PRECISION;
+ALTER TABLE rides ADD COLUMN departure_longitude DOUBLE PRECISION;
+ALTER TABLE rides ADD COLUMN destination_latitude DOUBLE PRECISION;
+ALTER TABLE rides ADD COLUMN destination_longitude DOUBLE PRECISION;
@@ -0,0 +1,240 @@
+package com.example.hitchhikingservice.datasource;
+
+import static com.example.hitchhikingservice.support.TestData.rideRequest;
+import static com.example.hitchhikingservice.support.TestData.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.hitchhikingservice.exception.EntityNotFoundException;
+import com.example.hitchhikingservice.model.dto.request.UserRequestDto;
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.dto.response.UserResponseDto;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.repository.UserRepository;
+import com.example.hitchhikingservice.security.AuthenticatedUser;
+import com.example.hitchhikingservice.service.RideService;
+import com.example.hitchhikingservice.service.UserService;
+import com.example.hitchhikingservice.service.cache.RideResponseCache;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs the service against two in-memory databases: the primary, migrated by
+ * Flyway, and a replica with a copy of its schema. The test plays the part of
+ * replication by copying rows itself, so every read shows which database
+ * served it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH",
+        "datasource.replicas.urls=" + ReplicaRoutingDataSourceTest.REPLICA_URL,
+        "datasource.replicas.lag-query=SELECT lag_ms FROM replica_lag",
+        "datasource.replicas.max-lag-ms=1000",
+        "datasource.replicas.health-check-interval-ms=3600000",
+        "datasource.replicas.cache-re-evict-delay-ms=300"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaRoutingDataSourceTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private RideResponseCache rideResponseCache;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReplicaPool replicaPool;
+
+    @Autowired
+    private JdbcTemplate primary;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        if (replica.queryForObject("SELECT COUNT(*) FROM information_schema.tables"
+                + " WHERE table_schema = 'public' AND table_name = 'users'", Integer.class) == 0) {
+            primary.queryForList("SCRIPT NODATA", String.class).forEach(replica::execute);
+        }
+        replica.execute("DROP TABLE IF EXISTS replica_lag");
+        replica.execute("CREATE TABLE replica_lag (lag_ms BIGINT)");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+        replicaPool.checkReplicas();
+
+        alice = userRepository.save(user("alice"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        for (JdbcTemplate database : List.of(primary, replica)) {
+            database.update("DELETE FROM ride_passengers");
+            database.update("DELETE FROM rides");
+            database.update("DELETE FROM users");
+        }
+        rideResponseCache.invalidateAll();
+    }
+
+    @Test
+    void readOnlyWorkGoesToTheReplica() {
+        assertThat(replicaPool.usableCount()).isEqualTo(1);
+        assertThatThrownBy(() -> userService.getUserById(alice.getId()))
+                .isInstanceOf(EntityNotFoundException.class);
+
+        replicate("users", "id", alice.getId());
+        assertThat(userService.getUserById(alice.getId()).name()).isEqualTo("alice");
+
+        userService.updateUser(alice.getId(), new UserRequestDto("renamed", null));
+        assertThat(nameIn(primary)).isEqualTo("renamed");
+        assertThat(userService.getUserById(alice.getId()).name()).isEqualTo("alice");
+    }
+
+    @Test
+    void laggingOrFailingReplicaFallsBackToThePrimary() {
+        replica.update("UPDATE replica_lag SET lag_ms = 5000");
+        replicaPool.checkReplicas();
+        assertThat(replicaPool.usableCount()).isZero();
+        assertThat(userService.getUserById(alice.getId()).name()).isEqualTo("alice");
+
+        replica.update("UPDATE replica_lag SET lag_ms = 200");
+        replicaPool.checkReplicas();
+        assertThatThrownBy(() -> userService.getUserById(alice.getId()))
+                .isInstanceOf(EntityNotFoundException.class);
+
+        replica.execute("DROP TABLE replica_lag");
+        replicaPool.checkReplicas();
+        assertThat(replicaPool.usableCount()).isZero();
+        assertThat(userService.getUserById(alice.getId()).name()).isEqualTo("alice");
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromThePrimary() {
+        User bob = userRepository.save(user("bob"));
+        replicate("users", "id", alice.getId());
+        authenticateAs(alice);
+        assertThat(userService.getUserById(alice.getId()).name()).isEqualTo("alice");
+
+        userService.updateUser(alice.getId(), new UserRequestDto("renamed", null));
+        assertThat(userService.getUserById(alice.getId()).name()).isEqualTo("renamed");
+
+        authenticateAs(bob);
+        assertThat(userService.getUserById(alice.getId()).name()).isEqualTo("alice");
+    }
+
+    @Test
+    void writeAfterReadInTheSameEntityManagerGoesToThePrimary() {
+        replicate("users", "id", alice.getId());
+        // Keeps one EntityManager open across transactions, as open-in-view does for a request.
+        TransactionSynchronizationManager.bindResource(entityManagerFactory,
+                new EntityManagerHolder(entityManagerFactory.createEntityManager()));
+        try {
+            assertThat(userService.getUserById(alice.getId()).name()).isEqualTo("alice");
+            userService.updateUser(alice.getId(), new UserRequestDto("renamed", null));
+        } finally {
+            ((EntityManagerHolder) TransactionSynchronizationManager.unbindResource(entityManagerFactory))
+                    .getEntityManager().close();
+        }
+
+        assertThat(nameIn(primary)).isEqualTo("renamed");
+        assertThat(nameIn(replica)).isEqualTo("alice");
+    }
+
+    @Test
+    void rideSearchRunsOnTheReplica() throws Exception {
+        Long rideId = rideService.createRide(rideRequest(), alice.getId()).id();
+        replicate("users", "id", alice.getId());
+        replicate("rides", "id", rideId);
+        primary.update("DELETE FROM rides WHERE id = ?", rideId);
+
+        // Only the replica still has the ride, so both the id query and the hydration ran there.
+        mockMvc.perform(get("/rides").param("departure", "minsk"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(rideId))
+                .andExpect(jsonPath("$.items[0].driver.name").value("alice"));
+    }
+
+    @Test
+    void ridesCachedFromALaggingReplicaAreEvictedAgain() throws Exception {
+        User bob = userRepository.save(user("bob"));
+        Long rideId = rideService.createRide(rideRequest(), alice.getId()).id();
+        replicate("users", "id", alice.getId());
+        replicate("users", "id", bob.getId());
+        replicate("rides", "id", rideId);
+
+        rideService.addPassengerToRide(rideId, bob.getId());
+        // Read after the commit evicted the ride, but before the replica applied the join.
+        assertThat(rideService.getRideById(rideId).passengers()).isEmpty();
+
+        replica.update("DELETE FROM rides WHERE id = ?", rideId);
+        replicate("rides", "id", rideId);
+        replicate("ride_passengers", "ride_id", rideId);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        RideResponseDto ride = rideService.getRideById(rideId);
+        while (ride.passengers().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            ride = rideService.getRideById(rideId);
+        }
+        assertThat(ride.passengers()).extracting(UserResponseDto::name).containsExactly("bob");
+        assertThat(ride.seatsCount()).isEqualTo(3);
+    }
+
+    private void replicate(String table, String column, Long value) {
+        for (Map<String, Object> row : primary.queryForList("SELECT * FROM " + table + " WHERE " + column + " = ?",
+                value)) {
+            replica.update("INSERT INTO " + table + " (" + String.join(", ", row.keySet()) + ") VALUES ("
+                            + row.keySet().stream().map(name -> "?").collect(Collectors.joining(", ")) + ")",
+                    row.values().toArray());
+        }
+    }
+
+    private String nameIn(JdbcTemplate database) {
+        return database.queryForObject("SELECT name FROM users WHERE id = ?", String.class, alice.getId());
+    }
+
+    private static void authenticateAs(User user) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole(),
+                Instant.now().plusSeconds(60));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
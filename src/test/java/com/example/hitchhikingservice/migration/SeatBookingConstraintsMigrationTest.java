@@ -0,0 +1,62 @@
+package com.example.hitchhikingservice.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Migrates a database holding the duplicate bookings and oversold rides that
+ * the code before V7 could produce.
+ */
+class SeatBookingConstraintsMigrationTest {
+
+    private final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:seat_booking_migration;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "sa", "");
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+    @Test
+    void repairsDuplicateBookingsAndOversoldRidesBeforeAddingConstraints() {
+        migrateTo("6");
+        jdbc.update("INSERT INTO users (id, name, email, password, role) VALUES"
+                + " (1, 'driver', 'driver@example.com', 'password', 'USER'),"
+                + " (2, 'first', 'first@example.com', 'password', 'USER'),"
+                + " (3, 'second', 'second@example.com', 'password', 'USER')");
+        jdbc.update("INSERT INTO rides (id, driver_id, seats_count, departure, destination,"
+                + " departure_normalized, destination_normalized) VALUES"
+                + " (10, 1, 1, 'Minsk', 'Brest', 'minsk', 'brest'),"
+                + " (11, 1, -2, 'Minsk', 'Grodno', 'minsk', 'grodno'),"
+                + " (12, 1, 3, 'Minsk', 'Vitebsk', 'minsk', 'vitebsk')");
+        // Ride 10: first booked three times; ride 11: oversold, second booked twice.
+        jdbc.update("INSERT INTO ride_passengers (ride_id, user_id) VALUES"
+                + " (10, 2), (10, 2), (10, 2), (10, 3),"
+                + " (11, 2), (11, 3), (11, 3),"
+                + " (12, 2)");
+
+        migrateTo("7");
+
+        assertThat(jdbc.queryForList("SELECT ride_id, user_id FROM ride_passengers ORDER BY ride_id, user_id"))
+                .extracting(row -> List.of(row.get("ride_id"), row.get("user_id")))
+                .containsExactly(List.of(10L, 2L), List.of(10L, 3L), List.of(11L, 2L), List.of(11L, 3L),
+                        List.of(12L, 2L));
+        assertThat(jdbc.queryForList("SELECT id, seats_count FROM rides ORDER BY id"))
+                .extracting(row -> row.get("seats_count"))
+                .containsExactly(3, 0, 3);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.tables"
+                + " WHERE table_name = 'ride_passengers_duplicates'", Integer.class)).isZero();
+    }
+
+    private void migrateTo(String version) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .javaMigrations(new BackfillNormalizedLocationsMigration())
+                .target(version)
+                .load()
+                .migrate();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.hitchhikingservice.repository;
+
+import static com.example.hitchhikingservice.support.TestData.DEPARTURE_TIME;
+import static com.example.hitchhikingservice.support.TestData.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.support.TestData;
+import com.example.hitchhikingservice.utils.LocationNormalizer;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RideRepositoryLocationSearchTest {
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User driver;
+
+    @BeforeEach
+    void setUp() {
+        driver = userRepository.save(user("driver"));
+    }
+
+    @Test
+    void normalizesLocationsOnSave() {
+        Ride ride = rideRepository.saveAndFlush(ride("  Łódź   Fabryczna ", "Zürich", 0));
+
+        assertThat(ride.getDepartureNormalized()).isEqualTo("lodz fabryczna");
+        assertThat(ride.getDestinationNormalized()).isEqualTo("zurich");
+    }
+
+    @Test
+    void ranksExactThenPrefixThenSubstringMatches() {
+        Long substring = rideRepository.save(ride("Old Brest", "Minsk", 0)).getId();
+        Long prefix = rideRepository.save(ride("Brest Central", "Minsk", 1)).getId();
+        Long exact = rideRepository.save(ride("Minsk", "Brést", 2)).getId();
+        rideRepository.save(ride("Grodno", "Vitebsk", 3));
+        rideRepository.flush();
+
+        List<Long> ids = rideRepository.findIdsRankedByLocation(LocationNormalizer.normalize("BREST"), 10);
+
+        assertThat(ids).containsExactly(exact, prefix, substring);
+    }
+
+    @Test
+    void treatsWildcardsLiterally() {
+        rideRepository.saveAndFlush(ride("Minsk", "Brest", 0));
+
+        assertThat(rideRepository.findIdsRankedByLocation("%", 10)).isEmpty();
+    }
+
+    private Ride ride(String departure, String destination, int hourOffset) {
+        Ride ride = TestData.ride(driver, DEPARTURE_TIME.plusHours(hourOffset));
+        ride.setDeparture(departure);
+        ride.setDestination(destination);
+        return ride;
+    }
+}
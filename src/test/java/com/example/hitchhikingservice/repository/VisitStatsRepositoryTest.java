@@ -0,0 +1,60 @@
+package com.example.hitchhikingservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.hitchhikingservice.service.stats.VisitCountDelta;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class VisitStatsRepositoryTest {
+
+    @Autowired
+    private VisitStatsRepository visitStatsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void addCountsAccumulatesDeltasPerRouteAndStatus() {
+        visitStatsRepository.addCounts(List.of(
+                new VisitCountDelta("GET /test/a", 200, 3),
+                new VisitCountDelta("GET /test/a", 404, 1)));
+        visitStatsRepository.addCounts(List.of(
+                new VisitCountDelta("GET /test/a", 200, 2),
+                new VisitCountDelta("GET /test/b", 200, 7)));
+
+        Map<String, Map<Integer, Long>> counts = visitStatsRepository.findAllCounts();
+
+        assertThat(counts.get("GET /test/a")).containsOnly(Map.entry(200, 5L), Map.entry(404, 1L));
+        assertThat(counts.get("GET /test/b")).containsOnly(Map.entry(200, 7L));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void failedBatchAddsNothingSoItsRetryCountsEachHitOnce() {
+        VisitCountDelta first = new VisitCountDelta("GET /test/retried", 200, 3);
+        VisitCountDelta invalid = new VisitCountDelta(null, 200, 1);
+        try {
+            assertThatThrownBy(() -> visitStatsRepository.addCounts(List.of(first, invalid)))
+                    .isInstanceOf(DataAccessException.class);
+            assertThat(visitStatsRepository.findAllCounts()).doesNotContainKey(first.route());
+
+            visitStatsRepository.addCounts(List.of(first));
+            assertThat(visitStatsRepository.findAllCounts().get(first.route())).containsOnly(Map.entry(200, 3L));
+        } finally {
+            jdbcTemplate.update("DELETE FROM visit_stats WHERE route = ?", first.route());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.hitchhikingservice.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.hitchhikingservice.model.entity.Role;
+import com.example.hitchhikingservice.model.entity.User;
+import io.jsonwebtoken.JwtException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "60e6984caffc3b5bdad687a58a0945675372df28c961fd7708ba1641e882e092";
+    private static final String ROTATED_SECRET = "0f1e2d3c4b5a69788796a5b4c3d2e1f00f1e2d3c4b5a69788796a5b4c3d2e1f0";
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void parsesGeneratedToken() {
+        JwtService jwtService = jwtService(new JwtProperties(SECRET, 60_000, "default", null, null));
+
+        AuthenticatedUser user = jwtService.parseAuthenticatedUser(jwtService.generateToken(user()));
+
+        assertThat(user.id()).isEqualTo(42L);
+        assertThat(user.email()).isEqualTo("user@example.com");
+        assertThat(user.role()).isEqualTo(Role.USER);
+        assertThat(jwtService.extractUserName(jwtService.generateToken(user()))).isEqualTo("user@example.com");
+    }
+
+    @Test
+    void acceptsTokensOfPreviousKeyAfterRotation() {
+        JwtService before = jwtService(new JwtProperties(SECRET, 60_000, "default", null, null));
+        String oldToken = before.generateToken(user());
+
+        JwtService after = jwtService(
+                new JwtProperties(SECRET, 60_000, "2025-01", Map.of("2025-01", ROTATED_SECRET), null));
+        String newToken = after.generateToken(user());
+
+        assertThat(after.parseAuthenticatedUser(oldToken).id()).isEqualTo(42L);
+        assertThat(after.parseAuthenticatedUser(newToken).id()).isEqualTo(42L);
+        assertThatThrownBy(() -> before.parseAuthenticatedUser(newToken)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void reloadsKeysFileWithoutRestart() throws IOException {
+        Path keysFile = tempDir.resolve("jwt-keys.properties");
+        Files.writeString(keysFile, "active-key-id=default\n");
+        JwtKeyProvider keyProvider = new JwtKeyProvider(
+                new JwtProperties(SECRET, 60_000, "default", null, keysFile.toString()));
+        JwtService jwtService = new JwtService(new JwtProperties(SECRET, 60_000, "default", null, null), keyProvider);
+
+        Files.writeString(keysFile, "active-key-id=next\nnext=" + ROTATED_SECRET + "\n");
+        Files.setLastModifiedTime(keysFile, FileTime.from(Instant.now().plusSeconds(1)));
+        keyProvider.reloadIfChanged();
+
+        assertThat(keyProvider.activeKey().id()).isEqualTo("next");
+        assertThat(jwtService.parseAuthenticatedUser(jwtService.generateToken(user())).id()).isEqualTo(42L);
+    }
+
+    private static JwtService jwtService(JwtProperties properties) {
+        return new JwtService(properties, new JwtKeyProvider(properties));
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(42L);
+        user.setEmail("user@example.com");
+        user.setRole(Role.USER);
+        return user;
+    }
+}
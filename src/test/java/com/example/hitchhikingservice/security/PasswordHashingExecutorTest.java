@@ -0,0 +1,81 @@
+package com.example.hitchhikingservice.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.hitchhikingservice.exception.TooManyRequestsException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PasswordHashingExecutorTest {
+
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, 5000);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void rethrowsTaskExceptions() {
+        assertThat(executor.execute(() -> "hash")).isEqualTo("hash");
+        assertThatThrownBy(() -> executor.execute(() -> {
+            throw new IllegalStateException("bad password");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("bad password");
+    }
+
+    @Test
+    void rejectsWorkBeyondTheQueue() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> busy = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            running.countDown();
+            await(release);
+            return "busy";
+        }));
+        running.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Object> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> "queued"));
+        waitUntilQueued();
+
+        assertThatThrownBy(() -> executor.execute(() -> "rejected"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isPositive());
+
+        release.countDown();
+        assertThat(busy.get(5, TimeUnit.SECONDS)).isEqualTo("busy");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+
+    @Test
+    void rejectsWorkNotDoneInTime() {
+        PasswordHashingExecutor impatient = new PasswordHashingExecutor(1, 1, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            assertThatThrownBy(() -> impatient.execute(() -> {
+                await(release);
+                return "late";
+            })).isInstanceOf(TooManyRequestsException.class);
+        } finally {
+            release.countDown();
+            impatient.shutdown();
+        }
+    }
+
+    private void waitUntilQueued() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.queuedTasks() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
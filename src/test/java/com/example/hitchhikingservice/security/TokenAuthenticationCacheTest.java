@@ -0,0 +1,63 @@
+package com.example.hitchhikingservice.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.hitchhikingservice.model.entity.Role;
+import io.jsonwebtoken.JwtException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class TokenAuthenticationCacheTest {
+
+    private final TokenAuthenticationCache cache = new TokenAuthenticationCache(100);
+
+    @Test
+    void verifiesEachTokenOnlyOnce() {
+        AtomicInteger verifications = new AtomicInteger();
+        AuthenticatedUser user = new AuthenticatedUser(1L, "user@example.com", Role.USER,
+                Instant.now().plusSeconds(60));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(cache.get("token", token -> {
+                verifications.incrementAndGet();
+                return user;
+            })).isEqualTo(user);
+        }
+
+        assertThat(verifications).hasValue(1);
+    }
+
+    @Test
+    void doesNotCacheRejectedTokens() {
+        AtomicInteger verifications = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> cache.get("bad-token", token -> {
+                verifications.incrementAndGet();
+                throw new JwtException("bad signature");
+            })).isInstanceOf(JwtException.class);
+        }
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void doesNotServeExpiredTokens() {
+        AtomicInteger verifications = new AtomicInteger();
+        AuthenticatedUser expired = new AuthenticatedUser(1L, "user@example.com", Role.USER,
+                Instant.now().minusSeconds(1));
+
+        cache.get("expired", token -> {
+            verifications.incrementAndGet();
+            return expired;
+        });
+        cache.get("expired", token -> {
+            verifications.incrementAndGet();
+            return expired;
+        });
+
+        assertThat(verifications).hasValue(2);
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.hitchhikingservice.service.cache;
+
+import static com.example.hitchhikingservice.support.TestData.DEPARTURE_TIME;
+import static com.example.hitchhikingservice.support.TestData.rideRequest;
+import static com.example.hitchhikingservice.support.TestData.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.hitchhikingservice.model.dto.request.PageRequestDto;
+import com.example.hitchhikingservice.model.dto.request.UserRequestDto;
+import com.example.hitchhikingservice.model.dto.response.PageResponseDto;
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.repository.RideRepository;
+import com.example.hitchhikingservice.repository.UserRepository;
+import com.example.hitchhikingservice.service.RideService;
+import com.example.hitchhikingservice.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class RideResponseCacheTest {
+
+    private static final int RIDES = 30;
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 300;
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RideResponseCache rideResponseCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User driver;
+    private User passenger;
+    private final List<Long> rideIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        driver = userRepository.save(user("driver"));
+        passenger = userRepository.save(user("passenger"));
+        for (int i = 0; i < RIDES; i++) {
+            rideIds.add(rideService.createRide(rideRequest("Minsk", "Brest", DEPARTURE_TIME.plusHours(i)),
+                    driver.getId()).id());
+        }
+
+        rideResponseCache.invalidateAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rideRepository.deleteAll();
+        userRepository.deleteAll();
+        rideResponseCache.invalidateAll();
+    }
+
+    @Test
+    void passengerJoinEvictsOnlyThatRide() {
+        Long rideId = rideIds.get(0);
+        rideService.getRideById(rideId);
+        rideService.getRideById(rideIds.get(1));
+
+        rideService.addPassengerToRide(rideId, passenger.getId());
+        statistics.clear();
+
+        RideResponseDto ride = rideService.getRideById(rideId);
+        assertThat(ride.passengers()).extracting("id").containsExactly(passenger.getId());
+        assertThat(ride.seatsCount()).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        rideService.getRideById(rideIds.get(1));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void createdRideEvictsOnlyPagesItBelongsTo() {
+        rideService.getAllRides("minsk", null, null, new PageRequestDto(null, RIDES + 10));
+        rideService.getAllRides(null, "vilnius", null, new PageRequestDto(null, 10));
+
+        Long createdId = rideService.createRide(
+                rideRequest("Minsk", "Brest", DEPARTURE_TIME.minusHours(1)), driver.getId()).id();
+        statistics.clear();
+
+        PageResponseDto<RideResponseDto> vilnius =
+                rideService.getAllRides(null, "vilnius", null, new PageRequestDto(null, 10));
+        assertThat(vilnius.items()).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        PageResponseDto<RideResponseDto> minsk =
+                rideService.getAllRides("minsk", null, null, new PageRequestDto(null, RIDES + 10));
+        assertThat(minsk.items()).hasSize(RIDES + 1);
+        assertThat(minsk.items().get(0).id()).isEqualTo(createdId);
+    }
+
+    @Test
+    void updatedAndDeletedRidesLeaveCachedPages() {
+        PageRequestDto firstPage = new PageRequestDto(null, 5);
+        Long movedId = rideIds.get(0);
+        Long deletedId = rideIds.get(1);
+        rideService.getRidesByDriverId(driver.getId(), firstPage);
+        rideService.getAllRides(null, "brest", null, firstPage);
+
+        rideService.updateRide(movedId, rideRequest("Minsk", "Vilnius", DEPARTURE_TIME), driver.getId());
+        rideService.deleteRideById(deletedId, driver.getId());
+
+        assertThat(rideService.getAllRides(null, "brest", null, firstPage).items())
+                .extracting(RideResponseDto::id)
+                .containsExactlyElementsOf(rideIds.subList(2, 7));
+        assertThat(rideService.getRidesByDriverId(driver.getId(), firstPage).items())
+                .extracting(RideResponseDto::id)
+                .containsExactly(movedId, rideIds.get(2), rideIds.get(3), rideIds.get(4), rideIds.get(5));
+        assertThat(rideService.getRideById(movedId).destination()).isEqualTo("Vilnius");
+    }
+
+    @Test
+    void userUpdateEvictsRidesShowingThatUser() {
+        rideService.getRideById(rideIds.get(0));
+
+        userService.updateUser(driver.getId(), new UserRequestDto("renamed", null));
+
+        assertThat(rideService.getRideById(rideIds.get(0)).driver().name()).isEqualTo("renamed");
+    }
+
+    @Test
+    void cacheCutsDatabaseStatementsUnderLoad() throws Exception {
+        LoadResult uncached = runLoad(true);
+        LoadResult cached = runLoad(false);
+
+        log.info("Read load without cache: {} statements, {} statements/s, {} reads/s",
+                uncached.statements(), uncached.statementsPerSecond(), uncached.readsPerSecond());
+        log.info("Read load with cache: {} statements, {} statements/s, {} reads/s, stats {}",
+                cached.statements(), cached.statementsPerSecond(), cached.readsPerSecond(),
+                rideResponseCache.getStats());
+        assertThat(cached.statements()).isLessThan(uncached.statements() / 20);
+    }
+
+    /**
+     * Runs a read mix of ride details, the first search page and the first
+     * driver page from several threads. With {@code bypassCache} the caches
+     * are cleared before every read, which is what the database saw before
+     * the cache existed.
+     */
+    private LoadResult runLoad(boolean bypassCache) throws Exception {
+        PageRequestDto firstPage = new PageRequestDto(null, 10);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        rideResponseCache.invalidateAll();
+        statistics.clear();
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        if (bypassCache) {
+                            rideResponseCache.invalidateAll();
+                        }
+                        switch (i % 3) {
+                            case 0 -> rideService.getRideById(rideIds.get(random.nextInt(rideIds.size())));
+                            case 1 -> rideService.getAllRides("minsk", null, null, firstPage);
+                            default -> rideService.getRidesByDriverId(driver.getId(), firstPage);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new LoadResult(statistics.getPrepareStatementCount(), THREADS * OPERATIONS_PER_THREAD,
+                System.nanoTime() - start);
+    }
+
+    private record LoadResult(long statements, long reads, long elapsedNanos) {
+
+        long statementsPerSecond() {
+            return statements * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+
+        long readsPerSecond() {
+            return reads * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+    }
+}
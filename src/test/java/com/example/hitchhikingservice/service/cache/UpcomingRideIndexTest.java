@@ -0,0 +1,190 @@
+package com.example.hitchhikingservice.service.cache;
+
+import static com.example.hitchhikingservice.support.TestData.ride;
+import static com.example.hitchhikingservice.support.TestData.rideRequest;
+import static com.example.hitchhikingservice.support.TestData.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.hitchhikingservice.model.dto.request.PageRequestDto;
+import com.example.hitchhikingservice.model.dto.response.PageResponseDto;
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.repository.RideRepository;
+import com.example.hitchhikingservice.repository.UserRepository;
+import com.example.hitchhikingservice.repository.specification.RideSpecifications;
+import com.example.hitchhikingservice.service.RideService;
+import com.example.hitchhikingservice.service.pagination.RideCursor;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class UpcomingRideIndexTest {
+
+    private static final String[] DEPARTURES = {"Minsk", "Mińsk Mazowiecki", "Kaminsk", "Brest", "Vilnius"};
+    private static final String[] DESTINATIONS = {"Brest", "Vilnius", "Minsk", "Warszawa"};
+
+    @Autowired
+    private UpcomingRideIndex upcomingRideIndex;
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RideResponseCache rideResponseCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final LocalDate today = LocalDate.now();
+    private User driver;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        driver = userRepository.save(user("driver"));
+        for (int i = 0; i < 40; i++) {
+            LocalDateTime departureTime = today.plusDays(i % 3).atTime(6, 0).plusMinutes(i % 7 * 90);
+            rideService.createRide(rideRequest(DEPARTURES[i % DEPARTURES.length],
+                    DESTINATIONS[i % DESTINATIONS.length], departureTime), driver.getId());
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rideRepository.findAll().forEach(ride -> rideService.deleteRideById(ride.getId(), driver.getId()));
+        userRepository.deleteAll();
+        rideResponseCache.invalidateAll();
+        upcomingRideIndex.refresh(today);
+    }
+
+    @Test
+    void answersSearchesInWindowLikeDatabaseWithoutQueries() {
+        for (int day = 0; day < 3; day++) {
+            for (String departure : new String[] {null, "minsk", "mi", "mazowiecki", "nowhere"}) {
+                for (String destination : new String[] {null, "brest", "w"}) {
+                    assertSameAsDatabase(departure, destination, today.plusDays(day));
+                }
+            }
+        }
+
+        statistics.clear();
+        int connections = countConnections(() ->
+                assertThat(pageThrough("minsk", null, today.plusDays(1))).isNotEmpty());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(connections).isZero();
+    }
+
+    @Test
+    void followsRideChanges() {
+        List<Long> firstDay = pageThrough(null, null, today);
+        Long moved = firstDay.get(0);
+        Long deleted = firstDay.get(1);
+
+        rideService.updateRide(moved, rideRequest("Grodno", "Brest", today.plusDays(2).atTime(23, 0)),
+                driver.getId());
+        rideService.deleteRideById(deleted, driver.getId());
+
+        assertThat(pageThrough(null, null, today)).doesNotContain(moved, deleted);
+        assertThat(pageThrough("grodno", null, today.plusDays(2))).containsExactly(moved);
+        assertSameAsDatabase(null, null, today);
+        assertSameAsDatabase(null, "brest", today.plusDays(2));
+    }
+
+    @Test
+    void dropsPastDaysAndLoadsNewOnes() {
+        // Stored without an event, so only loading the new day can find it.
+        Long storedId = rideRepository.save(ride(driver, today.plusDays(7).atTime(12, 0))).getId();
+
+        upcomingRideIndex.refresh(today.plusDays(1));
+
+        statistics.clear();
+        assertSameAsDatabase(null, null, today);
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+
+        statistics.clear();
+        int connections = countConnections(() ->
+                assertThat(pageThrough(null, null, today.plusDays(7))).containsExactly(storedId));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(connections).isEqualTo(1);
+    }
+
+    private void assertSameAsDatabase(String departure, String destination, LocalDate date) {
+        Specification<Ride> spec = Specification.where(RideSpecifications.departureContains(departure))
+                .and(RideSpecifications.destinationContains(destination))
+                .and(RideSpecifications.departsOn(date));
+        assertThat(pageThrough(departure, destination, date))
+                .as("departure %s, destination %s, date %s", departure, destination, date)
+                .containsExactlyElementsOf(rideRepository.findCursors(spec, Sort.by("departureTime", "id"), 1000).stream()
+                        .map(RideCursor::id)
+                        .toList());
+    }
+
+    private List<Long> pageThrough(String departure, String destination, LocalDate date) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageResponseDto<RideResponseDto> page = rideService.getAllRides(departure, destination,
+                    date.toString(), new PageRequestDto(cursor, 3));
+            page.items().forEach(ride -> ids.add(ride.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    /**
+     * Runs {@code work} and returns how many physical connections it took from
+     * the pool on this thread.
+     */
+    private int countConnections(Runnable work) {
+        LazyConnectionDataSourceProxy proxy = (LazyConnectionDataSourceProxy) dataSource;
+        DataSource pool = proxy.getTargetDataSource();
+        Thread testThread = Thread.currentThread();
+        AtomicInteger taken = new AtomicInteger();
+        proxy.setTargetDataSource(new DelegatingDataSource(pool) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (Thread.currentThread() == testThread) {
+                    taken.incrementAndGet();
+                }
+                return super.getConnection();
+            }
+        });
+        try {
+            work.run();
+        } finally {
+            proxy.setTargetDataSource(pool);
+        }
+        return taken.get();
+    }
+}
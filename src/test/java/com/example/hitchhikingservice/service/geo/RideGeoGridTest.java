@@ -0,0 +1,95 @@
+package com.example.hitchhikingservice.service.geo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.hitchhikingservice.utils.GeoDistance;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class RideGeoGridTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+    @Test
+    void matchesSameRidesAsBruteForceInDetourOrder() {
+        Random random = new Random(42);
+        RideGeoGrid grid = new RideGeoGrid(0.1);
+        List<RideLocation> rides = new ArrayList<>();
+        for (long id = 1; id <= 20_000; id++) {
+            RideLocation ride = new RideLocation(id,
+                    52 + random.nextDouble() * 3, 24 + random.nextDouble() * 6,
+                    52 + random.nextDouble() * 3, 24 + random.nextDouble() * 6,
+                    NOW.plusMinutes(random.nextInt(600) - 60));
+            rides.add(ride);
+            grid.put(ride);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            GeoCircle from = new GeoCircle(52 + random.nextDouble() * 3, 24 + random.nextDouble() * 6,
+                    5 + random.nextDouble() * 45);
+            GeoCircle to = new GeoCircle(52 + random.nextDouble() * 3, 24 + random.nextDouble() * 6,
+                    5 + random.nextDouble() * 45);
+
+            assertThat(grid.findMatches(from, to, NOW, Integer.MAX_VALUE))
+                    .isEqualTo(bruteForce(rides, from, to));
+        }
+    }
+
+    @Test
+    void findsRidesAcrossAntimeridianAndNearPoles() {
+        RideGeoGrid grid = new RideGeoGrid(0.5);
+        grid.put(new RideLocation(1L, 0, 179.95, 10, 0, NOW.plusHours(1)));
+        grid.put(new RideLocation(2L, 89.9, 10, 10, 0, NOW.plusHours(1)));
+
+        GeoCircle destination = new GeoCircle(10, 0, 1);
+        assertThat(grid.findMatches(new GeoCircle(0, -179.95, 20), destination, NOW, 10))
+                .extracting(RideGeoMatch::rideId).containsExactly(1L);
+        assertThat(grid.findMatches(new GeoCircle(89.9, -170, 30), destination, NOW, 10))
+                .extracting(RideGeoMatch::rideId).containsExactly(2L);
+    }
+
+    @Test
+    void updatesRemovesAndPurgesRides() {
+        RideGeoGrid grid = new RideGeoGrid(0.1);
+        GeoCircle minsk = new GeoCircle(53.9, 27.56, 10);
+        GeoCircle brest = new GeoCircle(52.1, 23.7, 10);
+        grid.put(new RideLocation(1L, 53.9, 27.56, 52.1, 23.7, NOW.plusHours(1)));
+        grid.put(new RideLocation(2L, 53.9, 27.56, 52.1, 23.7, NOW.plusHours(2)));
+        grid.putIfAbsent(new RideLocation(2L, 0, 0, 0, 0, NOW.plusHours(2)));
+
+        grid.put(new RideLocation(1L, 55.0, 30.0, 52.1, 23.7, NOW.plusHours(1)));
+        assertThat(grid.findMatches(minsk, brest, NOW, 10)).extracting(RideGeoMatch::rideId).containsExactly(2L);
+
+        grid.remove(2L);
+        assertThat(grid.findMatches(minsk, brest, NOW, 10)).isEmpty();
+
+        assertThat(grid.removeDepartingUntil(NOW.plusHours(1))).isEqualTo(1);
+        assertThat(grid.size()).isZero();
+    }
+
+    private static List<RideGeoMatch> bruteForce(List<RideLocation> rides, GeoCircle from, GeoCircle to) {
+        double tripKm = GeoDistance.km(from.latitude(), from.longitude(), to.latitude(), to.longitude());
+        return rides.stream()
+                .filter(ride -> ride.departureTime().isAfter(NOW))
+                .map(ride -> {
+                    double pickupKm = GeoDistance.km(ride.departureLatitude(), ride.departureLongitude(),
+                            from.latitude(), from.longitude());
+                    double dropoffKm = GeoDistance.km(to.latitude(), to.longitude(),
+                            ride.destinationLatitude(), ride.destinationLongitude());
+                    double directKm = GeoDistance.km(ride.departureLatitude(), ride.departureLongitude(),
+                            ride.destinationLatitude(), ride.destinationLongitude());
+                    return new RideGeoMatch(ride.id(), pickupKm, dropoffKm,
+                            pickupKm + tripKm + dropoffKm - directKm);
+                })
+                .filter(match -> match.pickupDistanceKm() <= from.radiusKm()
+                        && match.dropoffDistanceKm() <= to.radiusKm())
+                .sorted(Comparator.comparingDouble(RideGeoMatch::detourKm)
+                        .thenComparingDouble(RideGeoMatch::pickupDistanceKm)
+                        .thenComparing(RideGeoMatch::rideId))
+                .toList();
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.hitchhikingservice.service.geo;
+
+import static com.example.hitchhikingservice.support.TestData.DEPARTURE_TIME;
+import static com.example.hitchhikingservice.support.TestData.rideRequest;
+import static com.example.hitchhikingservice.support.TestData.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.hitchhikingservice.model.dto.request.GeoPointRequestDto;
+import com.example.hitchhikingservice.model.dto.request.NearbyRideSearchRequestDto;
+import com.example.hitchhikingservice.model.dto.response.RideMatchResponseDto;
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.repository.RideRepository;
+import com.example.hitchhikingservice.repository.UserRepository;
+import com.example.hitchhikingservice.service.RideService;
+import com.example.hitchhikingservice.service.cache.RideResponseCache;
+import com.example.hitchhikingservice.support.TestData;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RideGeoIndexTest {
+
+    private static final GeoPointRequestDto MINSK = new GeoPointRequestDto(53.9, 27.56);
+    private static final GeoPointRequestDto BREST = new GeoPointRequestDto(52.1, 23.7);
+    private static final GeoPointRequestDto VILNIUS = new GeoPointRequestDto(54.69, 25.28);
+
+    @Autowired
+    private RideGeoIndex rideGeoIndex;
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RideResponseCache rideResponseCache;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User driver;
+
+    @BeforeEach
+    void setUp() {
+        driver = userRepository.save(user("driver"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        rideRepository.findAll().forEach(ride -> rideService.deleteRideById(ride.getId(), driver.getId()));
+        userRepository.deleteAll();
+        rideResponseCache.invalidateAll();
+    }
+
+    @Test
+    void loadsUpcomingRidesWithCoordinates() {
+        Long upcoming = rideRepository.save(ride(DEPARTURE_TIME, MINSK, BREST)).getId();
+        rideRepository.save(ride(LocalDateTime.now().minusHours(1), MINSK, BREST));
+        rideRepository.save(ride(DEPARTURE_TIME, null, BREST));
+
+        rideGeoIndex.load();
+
+        assertThat(searchMinskToBrest()).extracting(match -> match.ride().id()).containsExactly(upcoming);
+    }
+
+    @Test
+    void followsCreatedUpdatedAndDeletedRides() {
+        Long direct = rideService.createRide(rideRequest(MINSK, BREST), driver.getId()).id();
+        Long viaVilnius = rideService.createRide(
+                rideRequest(new GeoPointRequestDto(53.95, 27.6), new GeoPointRequestDto(52.15, 23.75)),
+                driver.getId()).id();
+
+        List<RideMatchResponseDto> matches = searchMinskToBrest();
+        assertThat(matches).extracting(match -> match.ride().id()).containsExactly(direct, viaVilnius);
+        assertThat(matches.get(0).detourKm()).isCloseTo(0, within(1e-6));
+        assertThat(matches.get(1).ride().departurePoint().latitude()).isEqualTo(53.95);
+
+        rideService.updateRide(direct, rideRequest(VILNIUS, BREST), driver.getId());
+        assertThat(searchMinskToBrest()).extracting(match -> match.ride().id()).containsExactly(viaVilnius);
+
+        rideService.deleteRideById(viaVilnius, driver.getId());
+        assertThat(searchMinskToBrest()).isEmpty();
+    }
+
+    @Test
+    void endpointValidatesRadius() throws Exception {
+        rideService.createRide(rideRequest(MINSK, BREST), driver.getId());
+
+        mockMvc.perform(get("/rides/search/nearby")
+                        .param("fromLatitude", "53.9").param("fromLongitude", "27.56").param("fromRadiusKm", "5")
+                        .param("toLatitude", "52.1").param("toLongitude", "23.7").param("toRadiusKm", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ride.destinationPoint.longitude").value(23.7));
+        mockMvc.perform(get("/rides/search/nearby")
+                        .param("fromLatitude", "53.9").param("fromLongitude", "27.56").param("fromRadiusKm", "500")
+                        .param("toLatitude", "52.1").param("toLongitude", "23.7").param("toRadiusKm", "5"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<RideMatchResponseDto> searchMinskToBrest() {
+        return rideService.searchRidesNearby(new NearbyRideSearchRequestDto(
+                MINSK.latitude(), MINSK.longitude(), 10.0, BREST.latitude(), BREST.longitude(), 10.0, null));
+    }
+
+    private Ride ride(LocalDateTime departureTime, GeoPointRequestDto departure, GeoPointRequestDto destination) {
+        Ride ride = TestData.ride(driver, departureTime);
+        if (departure != null) {
+            ride.setDepartureLatitude(departure.latitude());
+            ride.setDepartureLongitude(departure.longitude());
+        }
+        ride.setDestinationLatitude(destination.latitude());
+        ride.setDestinationLongitude(destination.longitude());
+        return ride;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.hitchhikingservice.service.impl;
+
+import static com.example.hitchhikingservice.support.TestData.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.hitchhikingservice.exception.TooManyRequestsException;
+import com.example.hitchhikingservice.model.dto.request.LoginRequestDto;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.repository.UserRepository;
+import com.example.hitchhikingservice.service.AuthService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = {"auth.bcrypt.strength=5", "auth.throttle.email.capacity=2"})
+@ActiveProfiles("test")
+class AuthServiceImplTest {
+
+    private static final String PASSWORD = "secret-password";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void loginUpgradesWeakerHashes() {
+        User user = userRepository.save(user("weak", new BCryptPasswordEncoder(4).encode(PASSWORD)));
+
+        assertThat(authService.login(new LoginRequestDto(user.getEmail(), PASSWORD), "10.0.0.1").token())
+                .isNotBlank();
+
+        String upgraded = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertThat(upgraded).startsWith("$2a$05$");
+        assertThat(authService.login(new LoginRequestDto(user.getEmail(), PASSWORD), "10.0.0.1").token())
+                .isNotBlank();
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getPassword()).isEqualTo(upgraded);
+    }
+
+    @Test
+    void rejectsAttemptsBeyondTheEmailBudgetBeforeHashing() {
+        User user = userRepository.save(user("target", new BCryptPasswordEncoder(5).encode(PASSWORD)));
+        LoginRequestDto wrongPassword = new LoginRequestDto(user.getEmail(), "wrong-password");
+
+        for (int i = 0; i < 2; i++) {
+            String clientIp = "10.0.1." + i;
+            assertThatThrownBy(() -> authService.login(wrongPassword, clientIp))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        // Another address and even the right password do not get past an exhausted email budget.
+        assertThatThrownBy(() -> authService.login(new LoginRequestDto(user.getEmail().toUpperCase(), PASSWORD),
+                "10.0.1.9"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isPositive());
+    }
+}
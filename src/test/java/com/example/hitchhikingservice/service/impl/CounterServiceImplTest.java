@@ -0,0 +1,85 @@
+package com.example.hitchhikingservice.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.hitchhikingservice.model.dto.response.RouteStatsResponseDto;
+import com.example.hitchhikingservice.repository.VisitStatsRepository;
+import com.example.hitchhikingservice.service.stats.VisitCountDelta;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+class CounterServiceImplTest {
+
+    private final VisitStatsRepository visitStatsRepository = mock(VisitStatsRepository.class);
+
+    @Test
+    void aggregatesCountsStatusesAndLatencies() {
+        CounterServiceImpl counterService = new CounterServiceImpl(visitStatsRepository, 10);
+        for (int i = 1; i <= 100; i++) {
+            counterService.record("GET /rides/{id}", i <= 98 ? 200 : 404, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        RouteStatsResponseDto stats = counterService.getStats().get("GET /rides/{id}");
+
+        assertThat(stats.count()).isEqualTo(100);
+        assertThat(stats.statusCodes()).containsExactly(Map.entry(200, 98L), Map.entry(404, 2L));
+        assertThat(stats.p50Ms()).isBetween(49.0, 51.0);
+        assertThat(stats.p99Ms()).isBetween(98.0, 100.0);
+        assertThat(stats.maxMs()).isBetween(99.0, 101.0);
+    }
+
+    @Test
+    void foldsRoutesBeyondCapIntoOther() {
+        CounterServiceImpl counterService = new CounterServiceImpl(visitStatsRepository, 2);
+
+        counterService.record("GET /rides", 200, 1_000);
+        counterService.record("GET /users", 200, 1_000);
+        counterService.record("GET /a", 200, 1_000);
+        counterService.record("GET /b", 200, 1_000);
+
+        assertThat(counterService.getStats()).containsOnlyKeys("GET /rides", "GET /users",
+                CounterServiceImpl.OTHER_ROUTES);
+        assertThat(counterService.getStats().get(CounterServiceImpl.OTHER_ROUTES).count()).isEqualTo(2);
+    }
+
+    @Test
+    void mergesPersistedCountsWithPendingDeltas() {
+        CounterServiceImpl counterService = new CounterServiceImpl(visitStatsRepository, 10);
+        when(visitStatsRepository.findAllCounts()).thenReturn(Map.of(
+                "GET /rides", Map.of(200, 5L),
+                "GET /users", Map.of(200, 3L, 500, 1L)));
+
+        counterService.record("GET /rides", 200, 1_000);
+        counterService.record("GET /rides", 404, 1_000);
+
+        Map<String, RouteStatsResponseDto> stats = counterService.getStats();
+        assertThat(stats.get("GET /rides").count()).isEqualTo(7);
+        assertThat(stats.get("GET /rides").statusCodes()).containsExactly(Map.entry(200, 6L), Map.entry(404, 1L));
+        assertThat(stats.get("GET /users").count()).isEqualTo(4);
+    }
+
+    @Test
+    void flushDrainsPendingDeltasAndRestoresThemOnFailure() {
+        CounterServiceImpl counterService = new CounterServiceImpl(visitStatsRepository, 10);
+        counterService.record("GET /rides", 200, 1_000);
+        counterService.record("GET /rides", 200, 1_000);
+        doThrow(new QueryTimeoutException("timeout")).when(visitStatsRepository).addCounts(anyList());
+
+        counterService.flush();
+        assertThat(counterService.getStats().get("GET /rides").count()).isEqualTo(2);
+
+        reset(visitStatsRepository);
+        counterService.flush();
+        verify(visitStatsRepository).addCounts(List.of(new VisitCountDelta("GET /rides", 200, 2)));
+        assertThat(counterService.getStats().get("GET /rides").count()).isZero();
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.hitchhikingservice.service.impl;
+
+import static com.example.hitchhikingservice.support.TestData.DEPARTURE_TIME;
+import static com.example.hitchhikingservice.support.TestData.ride;
+import static com.example.hitchhikingservice.support.TestData.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.dto.response.UserResponseDto;
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.repository.RideRepository;
+import com.example.hitchhikingservice.repository.UserRepository;
+import com.example.hitchhikingservice.security.JwtService;
+import com.example.hitchhikingservice.service.CounterService;
+import com.example.hitchhikingservice.service.ExportService;
+import com.example.hitchhikingservice.service.RideService;
+import com.example.hitchhikingservice.service.cache.RideResponseCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@SpringBootTest(properties = "export.chunk-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportServiceImplTest {
+
+    private static final int RIDES = 7;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RideResponseCache rideResponseCache;
+
+    @Autowired
+    private CounterService counterService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final List<Long> rideIds = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User driver = userRepository.save(user("driver"));
+        users.add(driver);
+        for (int i = 0; i < 3; i++) {
+            users.add(userRepository.save(user("passenger" + i)));
+        }
+
+        for (int i = 0; i < RIDES; i++) {
+            Ride ride = ride(driver, DEPARTURE_TIME.minusHours(i));
+            ride.setCar("Car " + i);
+            ride.setPassengers(new ArrayList<>(users.subList(1, 1 + i % 4)));
+            rideIds.add(rideRepository.save(ride).getId());
+        }
+        rideResponseCache.invalidateAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rideRepository.deleteAll();
+        userRepository.deleteAll();
+        rideResponseCache.invalidateAll();
+    }
+
+    @Test
+    void exportsEveryRideInIdOrderLikeRideDetails() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportRides(0, out);
+
+        assertThat(readRides(out.toString(StandardCharsets.UTF_8)))
+                .containsExactlyElementsOf(rideIds.stream().map(rideService::getRideById).toList());
+    }
+
+    @Test
+    void resumesAfterLastExportedId() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportRides(rideIds.get(3), out);
+
+        assertThat(readRides(out.toString(StandardCharsets.UTF_8)))
+                .extracting(RideResponseDto::id)
+                .containsExactlyElementsOf(rideIds.subList(4, RIDES));
+    }
+
+    @Test
+    void exportsUsers() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportUsers(users.get(0).getId(), out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readValue(lines.get(0), UserResponseDto.class).name()).isEqualTo("passenger0");
+    }
+
+    @Test
+    void exportsRidesWithoutDepartureTime() throws Exception {
+        jdbcTemplate.update("UPDATE rides SET departure_time = NULL WHERE id = ?", rideIds.get(2));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportRides(0, out);
+
+        List<RideResponseDto> rides = readRides(out.toString(StandardCharsets.UTF_8));
+        assertThat(rides).hasSize(RIDES);
+        assertThat(rides.get(2).departureTime()).isNull();
+    }
+
+    @Test
+    void writesChunksOutsideTransactions() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Boolean> writesInTransaction = new ArrayList<>();
+        exportService.exportRides(0, new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                writesInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+                out.write(bytes, offset, length);
+            }
+        });
+
+        assertThat(readRides(out.toString(StandardCharsets.UTF_8))).hasSize(RIDES);
+        assertThat(writesInTransaction).isNotEmpty().containsOnly(false);
+    }
+
+    @Test
+    void exportRequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/rides/export")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void visitLatencyCoversTheWholeStream() throws Exception {
+        MvcResult result = mockMvc.perform(get("/rides/export").header(HttpHeaders.AUTHORIZATION, bearerToken()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        Thread.sleep(200);
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        assertThat(counterService.getStats().get("GET /rides/export").maxMs()).isGreaterThanOrEqualTo(200);
+    }
+
+    @Test
+    void endpointStreamsGzipWhenAccepted() throws Exception {
+        MvcResult result = mockMvc.perform(get("/rides/export")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(readRides(new String(gzip.readAllBytes(), StandardCharsets.UTF_8))).hasSize(RIDES);
+        }
+    }
+
+    private String bearerToken() {
+        return "Bearer " + jwtService.generateToken(users.get(0));
+    }
+
+    private List<RideResponseDto> readRides(String ndjson) throws Exception {
+        List<RideResponseDto> rides = new ArrayList<>();
+        for (String line : ndjson.lines().toList()) {
+            rides.add(objectMapper.readValue(line, RideResponseDto.class));
+        }
+        return rides;
+    }
+}
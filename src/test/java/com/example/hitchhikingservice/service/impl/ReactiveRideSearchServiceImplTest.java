@@ -0,0 +1,154 @@
+package com.example.hitchhikingservice.service.impl;
+
+import static com.example.hitchhikingservice.support.TestData.DEPARTURE_TIME;
+import static com.example.hitchhikingservice.support.TestData.ride;
+import static com.example.hitchhikingservice.support.TestData.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.hitchhikingservice.exception.EntityNotFoundException;
+import com.example.hitchhikingservice.model.dto.request.PageRequestDto;
+import com.example.hitchhikingservice.model.dto.response.PageResponseDto;
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.repository.RideRepository;
+import com.example.hitchhikingservice.repository.UserRepository;
+import com.example.hitchhikingservice.service.ReactiveRideSearchService;
+import com.example.hitchhikingservice.service.RideService;
+import com.example.hitchhikingservice.service.cache.RideResponseCache;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = {
+        "reactive-search.enabled=true",
+        "reactive-search.url=r2dbc:h2:mem:///hitchhiking"
+                + "?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "reactive-search.chunk-size=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReactiveRideSearchServiceImplTest {
+
+    private static final int PAGE_SIZE = 4;
+
+    @Autowired
+    private ReactiveRideSearchService reactiveRideSearchService;
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RideResponseCache rideResponseCache;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User driver;
+    private User otherDriver;
+    private User passenger;
+
+    @BeforeEach
+    void setUp() {
+        driver = userRepository.save(user("driver"));
+        otherDriver = userRepository.save(user("other"));
+        passenger = userRepository.save(user("passenger"));
+        User secondPassenger = userRepository.save(user("second"));
+
+        for (int i = 0; i < 11; i++) {
+            // Pairs of rides share a departure time to exercise the id tie-break.
+            Ride ride = ride(i % 3 == 0 ? otherDriver : driver, DEPARTURE_TIME.plusHours(i / 2 * 13));
+            ride.setCar("Car " + i);
+            ride.setDeparture(i % 2 == 0 ? "Minsk" : "Mińsk Mazowiecki");
+            ride.setDestination(i % 4 == 0 ? "Vilnius" : "Brest");
+            ride.setComment(i % 5 == 0 ? null : "Comment " + i);
+            ride.setPassengers(new ArrayList<>(i % 2 == 0 ? List.of(secondPassenger, passenger) : List.of()));
+            rideRepository.save(ride);
+        }
+        rideResponseCache.invalidateAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rideRepository.deleteAll();
+        userRepository.deleteAll();
+        rideResponseCache.invalidateAll();
+    }
+
+    @Test
+    void streamsSameRidesAsPagedSearch() {
+        assertSameRides(reactiveRideSearchService.getAllRides(null, null, null).collectList().block(),
+                pageRequest -> rideService.getAllRides(null, null, null, pageRequest));
+        assertSameRides(reactiveRideSearchService.getAllRides("minsk", "brest", null).collectList().block(),
+                pageRequest -> rideService.getAllRides("minsk", "brest", null, pageRequest));
+        assertSameRides(reactiveRideSearchService.getAllRides("mazowiecki", null, "2030-01-02")
+                        .collectList().block(),
+                pageRequest -> rideService.getAllRides("mazowiecki", null, "2030-01-02", pageRequest));
+    }
+
+    @Test
+    void streamsSameRidesAsPagedDriverAndPassengerSearch() {
+        assertSameRides(reactiveRideSearchService.getRidesByDriverId(driver.getId()).collectList().block(),
+                pageRequest -> rideService.getRidesByDriverId(driver.getId(), pageRequest));
+        assertSameRides(reactiveRideSearchService.getRidesByDriverName("other").collectList().block(),
+                pageRequest -> rideService.getRidesByDriverName("other", pageRequest));
+        assertSameRides(reactiveRideSearchService.getRidesByPassengerId(passenger.getId()).collectList().block(),
+                pageRequest -> rideService.getRidesByPassengerId(passenger.getId(), pageRequest));
+        assertSameRides(reactiveRideSearchService.getRidesByPassengerName("passenger").collectList().block(),
+                pageRequest -> rideService.getRidesByPassengerName("passenger", pageRequest));
+    }
+
+    @Test
+    void unknownDriverFailsLikePagedSearch() {
+        assertThatThrownBy(() -> reactiveRideSearchService.getRidesByDriverId(-1L).collectList().block())
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> reactiveRideSearchService.getRidesByPassengerName("nobody").collectList().block())
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void endpointStreamsNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/reactive/rides").param("destination", "vilnius"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines()).hasSize(3).allSatisfy(line -> assertThat(line).contains("\"Vilnius\""));
+    }
+
+    private void assertSameRides(List<RideResponseDto> streamed,
+                                 Function<PageRequestDto, PageResponseDto<RideResponseDto>> pagedSearch) {
+        List<RideResponseDto> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageResponseDto<RideResponseDto> page = pagedSearch.apply(new PageRequestDto(cursor, PAGE_SIZE));
+            paged.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(streamed).isNotEmpty().containsExactlyElementsOf(paged);
+    }
+}
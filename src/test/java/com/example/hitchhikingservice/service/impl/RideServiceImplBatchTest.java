@@ -0,0 +1,127 @@
+package com.example.hitchhikingservice.service.impl;
+
+import static com.example.hitchhikingservice.support.TestData.DEPARTURE_TIME;
+import static com.example.hitchhikingservice.support.TestData.rideRequest;
+import static com.example.hitchhikingservice.support.TestData.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.hitchhikingservice.model.dto.request.RideRequestDto;
+import com.example.hitchhikingservice.model.dto.response.BatchItemResponseDto;
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.dto.response.UserResponseDto;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.repository.RideRepository;
+import com.example.hitchhikingservice.repository.UserRepository;
+import com.example.hitchhikingservice.service.RideService;
+import com.example.hitchhikingservice.service.UserService;
+import com.example.hitchhikingservice.service.cache.RideResponseCache;
+import com.example.hitchhikingservice.utils.ErrorMessages;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class RideServiceImplBatchTest {
+
+    private static final int RIDES = 30;
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RideResponseCache rideResponseCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User driver;
+
+    @BeforeEach
+    void setUp() {
+        driver = userRepository.save(user("driver"));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rideRepository.deleteAll();
+        userRepository.deleteAll();
+        rideResponseCache.invalidateAll();
+    }
+
+    @Test
+    void createsValidRidesInBatchesAndReportsInvalidOnes() {
+        List<RideRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < RIDES; i++) {
+            requests.add(rideRequest("Car " + i, 4, DEPARTURE_TIME.plusHours(i)));
+        }
+        requests.set(3, rideRequest("Car 3", 0, DEPARTURE_TIME));
+        requests.set(7, rideRequest("", 4, LocalDateTime.of(2020, 1, 1, 8, 0)));
+
+        List<BatchItemResponseDto<RideResponseDto>> results = rideService.createRides(requests, driver.getId());
+
+        assertThat(results).extracting(BatchItemResponseDto::index)
+                .containsExactlyElementsOf(IntStream.range(0, RIDES).boxed().toList());
+        assertThat(results.get(3).error()).isEqualTo("seatsCount: Seats count must be a positive number");
+        assertThat(results.get(7).error()).contains("car: Car must not be blank", "departureTime:");
+        assertThat(results).filteredOn(result -> result.error() == null).hasSize(RIDES - 2)
+                .allSatisfy(result -> assertThat(result.item().id()).isNotNull());
+        assertThat(rideRepository.count()).isEqualTo(RIDES - 2);
+        // Driver lookup, id sequence and one batched insert instead of one insert per ride.
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void fetchesRidesAndUsersByIdsInRequestOrder() {
+        List<Long> created = rideService.createRides(
+                        List.of(rideRequest("A", 4, DEPARTURE_TIME),
+                                rideRequest("B", 4, LocalDateTime.of(2030, 1, 1, 9, 0))),
+                        driver.getId()).stream()
+                .map(result -> result.item().id())
+                .toList();
+        rideResponseCache.invalidateAll();
+        statistics.clear();
+
+        List<BatchItemResponseDto<RideResponseDto>> rides =
+                rideService.getRidesByIds(List.of(created.get(1), -1L, created.get(0)));
+        assertThat(rides).extracting(result -> result.item() == null ? null : result.item().car())
+                .containsExactly("B", null, "A");
+        assertThat(rides.get(1).error()).isEqualTo(ErrorMessages.RIDE_NOT_FOUND);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        List<BatchItemResponseDto<UserResponseDto>> users = userService.getUsersByIds(List.of(-1L, driver.getId()));
+        assertThat(users.get(0).error()).isEqualTo(ErrorMessages.USER_NOT_FOUND);
+        assertThat(users.get(1).item().name()).isEqualTo("driver");
+    }
+
+    @Test
+    void rejectsOversizedBatches() {
+        assertThatThrownBy(() -> rideService.getRidesByIds(Collections.nCopies(101, 1L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(ErrorMessages.BATCH_TOO_LARGE);
+    }
+}
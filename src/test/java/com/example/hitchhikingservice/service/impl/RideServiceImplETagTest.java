@@ -0,0 +1,210 @@
+package com.example.hitchhikingservice.service.impl;
+
+import static com.example.hitchhikingservice.support.TestData.rideRequest;
+import static com.example.hitchhikingservice.support.TestData.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.hitchhikingservice.model.dto.request.PageRequestDto;
+import com.example.hitchhikingservice.model.dto.request.UserRequestDto;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.repository.RideRepository;
+import com.example.hitchhikingservice.repository.UserRepository;
+import com.example.hitchhikingservice.service.RideService;
+import com.example.hitchhikingservice.service.UserService;
+import com.example.hitchhikingservice.service.cache.RideResponseCache;
+import com.example.hitchhikingservice.utils.RideETags;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RideServiceImplETagTest {
+
+    private static final PageRequestDto FIRST_PAGE = new PageRequestDto(null, 20);
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RideResponseCache rideResponseCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User driver;
+    private User passenger;
+    private Long rideId;
+
+    @BeforeEach
+    void setUp() {
+        driver = userRepository.save(user("driver"));
+        passenger = userRepository.save(user("passenger"));
+        rideId = rideService.createRide(rideRequest("Car"), driver.getId()).id();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rideRepository.findAll().forEach(ride -> rideService.deleteRideById(ride.getId(), driver.getId()));
+        userRepository.deleteAll();
+        rideResponseCache.invalidateAll();
+    }
+
+    @Test
+    void eTagsChangeWithEveryChangeToTheResponse() {
+        Set<String> rideTags = new HashSet<>();
+        Set<String> pageTags = new HashSet<>();
+        Runnable check = () -> {
+            String rideTag = rideETag();
+            assertThat(rideTag).isEqualTo(RideETags.of(rideService.getRideById(rideId)));
+            assertThat(rideTags.add(rideTag)).isTrue();
+
+            String pageTag = pageETag();
+            assertThat(pageTag).isEqualTo(RideETags.of(rideService.getAllRides("minsk", null, null, FIRST_PAGE)));
+            assertThat(pageTags.add(pageTag)).isTrue();
+        };
+
+        check.run();
+        rideService.addPassengerToRide(rideId, passenger.getId());
+        check.run();
+        userService.updateUser(passenger.getId(), new UserRequestDto("renamed", "+375000000000"));
+        check.run();
+        rideService.removePassengerFromRide(rideId, passenger.getId());
+        check.run();
+        rideService.updateRide(rideId, rideRequest("Other car"), driver.getId());
+        check.run();
+
+        String rideTag = rideETag();
+        rideService.createRide(rideRequest("Second car"), driver.getId());
+        assertThat(rideETag()).isEqualTo(rideTag);
+        assertThat(pageTags.add(pageETag())).isTrue();
+    }
+
+    @Test
+    void updateOfARideLoadedBeforeABookingStillChangesTheETag() {
+        String bookedTag = new TransactionTemplate(transactionManager).execute(status -> {
+            // Loads the ride into this transaction before the booking commits.
+            rideRepository.findById(rideId).orElseThrow();
+            CompletableFuture.runAsync(() -> rideService.addPassengerToRide(rideId, passenger.getId())).join();
+            String tag = rideETag();
+
+            rideService.updateRide(rideId, rideRequest("Other car"), driver.getId());
+            return tag;
+        });
+
+        String updatedTag = rideETag();
+        assertThat(updatedTag).isNotEqualTo(bookedTag);
+        assertThat(RideETags.of(rideService.getRideById(rideId))).isEqualTo(updatedTag);
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWithOneVersionLookup() throws Exception {
+        String rideTag = mockMvc.perform(get("/rides/{id}", rideId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String pageTag = mockMvc.perform(get("/rides").param("departure", "minsk"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/rides/{id}", rideId).header(HttpHeaders.IF_NONE_MATCH, rideTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, rideTag))
+                .andExpect(content().string(""));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        // The page itself is served from the page cache.
+        mockMvc.perform(get("/rides").param("departure", "minsk").header(HttpHeaders.IF_NONE_MATCH, pageTag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        rideResponseCache.invalidateAll();
+        statistics.clear();
+        // Without the page cache: the id query and the version lookup, no ride responses.
+        mockMvc.perform(get("/rides").param("departure", "minsk").header(HttpHeaders.IF_NONE_MATCH, pageTag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        rideService.addPassengerToRide(rideId, passenger.getId());
+        mockMvc.perform(get("/rides/{id}", rideId).header(HttpHeaders.IF_NONE_MATCH, rideTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/rides").param("departure", "minsk").header(HttpHeaders.IF_NONE_MATCH, pageTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void conditionalPollsReloadCachedRidesOlderThanTheDatabase() throws Exception {
+        String rideTag = mockMvc.perform(get("/rides/{id}", rideId))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String pageTag = mockMvc.perform(get("/rides").param("departure", "minsk"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        // A change the cache never heard of, e.g. one made through another instance.
+        jdbcTemplate.update("UPDATE rides SET seats_count = 2, version = version + 1 WHERE id = ?", rideId);
+
+        String freshRideTag = mockMvc.perform(get("/rides/{id}", rideId).header(HttpHeaders.IF_NONE_MATCH, rideTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, rideETag()))
+                .andExpect(jsonPath("$.seatsCount").value(2))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/rides/{id}", rideId).header(HttpHeaders.IF_NONE_MATCH, freshRideTag))
+                .andExpect(status().isNotModified());
+
+        String freshPageTag = mockMvc.perform(get("/rides").param("departure", "minsk")
+                        .header(HttpHeaders.IF_NONE_MATCH, pageTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, pageETag()))
+                .andExpect(jsonPath("$.items[0].seatsCount").value(2))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/rides").param("departure", "minsk").header(HttpHeaders.IF_NONE_MATCH, freshPageTag))
+                .andExpect(status().isNotModified());
+    }
+
+    private String rideETag() {
+        return RideETags.ofRide(rideId, rideService.getRideVersion(rideId));
+    }
+
+    private String pageETag() {
+        return RideETags.of(rideService.getAllRidesVersions("minsk", null, null, FIRST_PAGE));
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.hitchhikingservice.service.impl;
+
+import static com.example.hitchhikingservice.support.TestData.DEPARTURE_TIME;
+import static com.example.hitchhikingservice.support.TestData.ride;
+import static com.example.hitchhikingservice.support.TestData.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.hitchhikingservice.model.dto.request.PageRequestDto;
+import com.example.hitchhikingservice.model.dto.response.PageResponseDto;
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.repository.RideRepository;
+import com.example.hitchhikingservice.repository.UserRepository;
+import com.example.hitchhikingservice.service.RideService;
+import com.example.hitchhikingservice.service.UserService;
+import com.example.hitchhikingservice.service.cache.RideResponseCache;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class RideServiceImplQueryCountTest {
+
+    private static final int RIDES = 12;
+    private static final int PASSENGERS_PER_RIDE = 4;
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RideResponseCache rideResponseCache;
+
+    private Statistics statistics;
+    private User driver;
+    private User passenger;
+
+    @BeforeEach
+    void setUp() {
+        driver = userRepository.save(user("driver"));
+        List<User> passengers = new ArrayList<>();
+        for (int i = 0; i < PASSENGERS_PER_RIDE; i++) {
+            passengers.add(userRepository.save(user("passenger" + i)));
+        }
+        passenger = passengers.get(0);
+
+        for (int i = 0; i < RIDES; i++) {
+            Ride ride = ride(driver, DEPARTURE_TIME.plusHours(i));
+            ride.setCar("Car " + i);
+            ride.setPassengers(new ArrayList<>(passengers));
+            rideRepository.save(ride);
+        }
+
+        rideResponseCache.invalidateAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rideRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getAllRidesRunsConstantNumberOfStatements() {
+        PageResponseDto<RideResponseDto> page =
+                rideService.getAllRides("minsk", "brest", null, new PageRequestDto(null, RIDES));
+
+        assertThat(page.items()).hasSize(RIDES);
+        assertThat(page.items()).allSatisfy(ride -> assertThat(ride.passengers()).hasSize(PASSENGERS_PER_RIDE));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void nextPageRunsConstantNumberOfStatements() {
+        PageResponseDto<RideResponseDto> first = rideService.getAllRides(null, null, null, new PageRequestDto(null, 5));
+        statistics.clear();
+
+        PageResponseDto<RideResponseDto> second =
+                rideService.getAllRides(null, null, null, new PageRequestDto(first.nextCursor(), 5));
+
+        assertThat(second.items()).hasSize(5);
+        assertThat(second.items().get(0).departureTime()).isAfter(first.items().get(4).departureTime());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void searchByDriverAndPassengerRunConstantNumberOfStatements() {
+        rideService.getRidesByDriverId(driver.getId(), new PageRequestDto(null, RIDES));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        rideResponseCache.invalidateAll();
+        statistics.clear();
+        PageResponseDto<RideResponseDto> page =
+                rideService.getRidesByPassengerName(passenger.getName(), new PageRequestDto(null, RIDES));
+        assertThat(page.items()).hasSize(RIDES);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void getRideByIdRunsSingleStatement() {
+        Long rideId = rideRepository.findAll().get(0).getId();
+        statistics.clear();
+
+        RideResponseDto ride = rideService.getRideById(rideId);
+
+        assertThat(ride.driver().id()).isEqualTo(driver.getId());
+        assertThat(ride.passengers()).hasSize(PASSENGERS_PER_RIDE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void readsBuildResponsesWithoutLoadingEntities() {
+        Long rideId = rideService.getAllRides(null, null, null, new PageRequestDto(null, RIDES)).items().get(0).id();
+        rideResponseCache.invalidateAll();
+        RideResponseDto ride = rideService.getRideById(rideId);
+        userService.getAllUsers(new PageRequestDto(null, 10));
+        userService.getUserById(driver.getId());
+
+        assertThat(ride.driver().email()).isEqualTo("driver@example.com");
+        assertThat(ride.passengers()).extracting(passenger -> passenger.id()).isSorted();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(statistics.getFlushCount()).isZero();
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.hitchhikingservice.service.impl;
+
+import static com.example.hitchhikingservice.support.TestData.DEPARTURE_TIME;
+import static com.example.hitchhikingservice.support.TestData.ride;
+import static com.example.hitchhikingservice.support.TestData.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.repository.RideRepository;
+import com.example.hitchhikingservice.repository.UserRepository;
+import com.example.hitchhikingservice.service.RideService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SeatBookingConcurrencyTest {
+
+    private static final int SEATS = 10;
+    private static final int CANDIDATES = 300;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Ride ride;
+    private final List<User> candidates = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User driver = userRepository.save(user("driver"));
+        for (int i = 0; i < CANDIDATES; i++) {
+            candidates.add(user("passenger" + i));
+        }
+        userRepository.saveAll(candidates);
+
+        ride = ride(driver, DEPARTURE_TIME);
+        ride.setSeatsCount(SEATS);
+        ride = rideRepository.save(ride);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rideRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentJoinsNeverOverbook() throws Exception {
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(candidates, candidate -> {
+            try {
+                rideService.addPassengerToRide(ride.getId(), candidate.getId());
+                booked.incrementAndGet();
+            } catch (IllegalArgumentException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(booked).hasValue(SEATS);
+        assertThat(rejected).hasValue(CANDIDATES - SEATS);
+        assertThat(seatsLeft()).isZero();
+        assertThat(passengerRows()).isEqualTo(SEATS);
+    }
+
+    @Test
+    void concurrentDuplicateJoinsBookOneSeat() throws Exception {
+        User candidate = candidates.get(0);
+        List<User> sameUser = new ArrayList<>();
+        for (int i = 0; i < THREADS * 4; i++) {
+            sameUser.add(candidate);
+        }
+        AtomicInteger booked = new AtomicInteger();
+
+        runConcurrently(sameUser, user -> {
+            try {
+                rideService.addPassengerToRide(ride.getId(), user.getId());
+                booked.incrementAndGet();
+            } catch (IllegalArgumentException e) {
+                // duplicate join rejected
+            }
+        });
+
+        assertThat(booked).hasValue(1);
+        assertThat(seatsLeft()).isEqualTo(SEATS - 1);
+        assertThat(passengerRows()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentJoinsAndLeavesKeepSeatsConsistent() throws Exception {
+        List<User> firstWave = candidates.subList(0, SEATS);
+        firstWave.forEach(user -> rideService.addPassengerToRide(ride.getId(), user.getId()));
+
+        runConcurrently(candidates, candidate -> {
+            try {
+                if (firstWave.contains(candidate)) {
+                    rideService.removePassengerFromRide(ride.getId(), candidate.getId());
+                } else {
+                    rideService.addPassengerToRide(ride.getId(), candidate.getId());
+                }
+            } catch (IllegalArgumentException e) {
+                // ride full at that moment
+            }
+        });
+
+        assertThat(seatsLeft() + passengerRows()).isEqualTo(SEATS);
+        assertThat(seatsLeft()).isNotNegative();
+    }
+
+    private void runConcurrently(List<User> users, Consumer<User> action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (User user : users) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    action.accept(user);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int seatsLeft() {
+        return jdbcTemplate.queryForObject("SELECT seats_count FROM rides WHERE id = ?", Integer.class, ride.getId());
+    }
+
+    private int passengerRows() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ride_passengers WHERE ride_id = ?", Integer.class, ride.getId());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.hitchhikingservice.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.hitchhikingservice.repository.RideRepository;
+import com.example.hitchhikingservice.repository.UserRepository;
+import com.example.hitchhikingservice.utils.ErrorMessages;
+import java.sql.SQLException;
+import java.util.Optional;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.ConstraintViolationException.ConstraintKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+class SeatBookingEngineTest {
+
+    private static final Long RIDE_ID = 1L;
+    private static final Long DRIVER_ID = 2L;
+    private static final Long USER_ID = 3L;
+
+    private final RideRepository rideRepository = mock(RideRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SeatBookingEngine seatBookingEngine = new SeatBookingEngine(rideRepository, userRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(rideRepository.findDriverIdById(RIDE_ID)).thenReturn(Optional.of(DRIVER_ID));
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+    }
+
+    @Test
+    void duplicatePassengerRowIsReportedAsAlreadyPassenger() {
+        DataIntegrityViolationException duplicate = violation(ConstraintKind.UNIQUE, "pk_ride_passengers");
+        doThrow(duplicate).when(rideRepository).insertPassenger(RIDE_ID, USER_ID);
+
+        assertThatThrownBy(() -> seatBookingEngine.book(RIDE_ID, USER_ID))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(ErrorMessages.ALREADY_PASSENGER)
+                .hasCause(duplicate);
+    }
+
+    @Test
+    void otherConstraintViolationsPropagate() {
+        DataIntegrityViolationException missingUser = violation(ConstraintKind.OTHER, "fk_ride_passengers_user");
+        doThrow(missingUser).when(rideRepository).insertPassenger(RIDE_ID, USER_ID);
+
+        assertThatThrownBy(() -> seatBookingEngine.book(RIDE_ID, USER_ID)).isSameAs(missingUser);
+    }
+
+    private static DataIntegrityViolationException violation(ConstraintKind kind, String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement", new ConstraintViolationException(
+                "could not execute statement", new SQLException("violation"), kind, constraintName));
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.hitchhikingservice.service.impl;
+
+import static com.example.hitchhikingservice.support.TestData.DEPARTURE_TIME;
+import static com.example.hitchhikingservice.support.TestData.ride;
+import static com.example.hitchhikingservice.support.TestData.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.hitchhikingservice.model.dto.response.RideResponseDto;
+import com.example.hitchhikingservice.model.dto.response.UserDeletionStatusDto;
+import com.example.hitchhikingservice.model.dto.response.UserDeletionStatusDto.State;
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.model.entity.User;
+import com.example.hitchhikingservice.repository.RideRepository;
+import com.example.hitchhikingservice.repository.UserRepository;
+import com.example.hitchhikingservice.service.RideService;
+import com.example.hitchhikingservice.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "users.deletion.chunk-size=2"
+})
+@ActiveProfiles("test")
+class UserServiceImplDeletionTest {
+
+    private static final int DRIVEN_RIDES = 5;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private User other;
+    private Long joinedRideId;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(user("leaving"));
+        other = userRepository.save(user("staying"));
+        for (int i = 0; i < DRIVEN_RIDES; i++) {
+            Ride ride = rideRepository.save(ride(user, DEPARTURE_TIME.plusHours(i)));
+            rideService.addPassengerToRide(ride.getId(), other.getId());
+        }
+        joinedRideId = rideRepository.save(ride(other, DEPARTURE_TIME.plusHours(DRIVEN_RIDES))).getId();
+        rideService.addPassengerToRide(joinedRideId, user.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        rideRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void deletesRidesAndGivesBackSeatsWithoutLoadingEntities() {
+        // Cached before the deletion, so the response must be evicted afterwards.
+        assertThat(rideService.getRideById(joinedRideId).seatsCount()).isEqualTo(3);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        userService.deleteUserById(user.getId());
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertDeleted();
+    }
+
+    @Test
+    void backgroundDeletionReportsProgress() throws InterruptedException {
+        UserDeletionStatusDto started = userService.startUserDeletion(user.getId());
+        assertThat(started.ridesTotal()).isEqualTo(DRIVEN_RIDES);
+
+        UserDeletionStatusDto status = started;
+        for (int i = 0; i < 100 && status.state() == State.RUNNING; i++) {
+            Thread.sleep(50);
+            status = userService.getUserDeletionStatus(user.getId());
+        }
+
+        assertThat(status.state()).isEqualTo(State.COMPLETED);
+        assertThat(status.ridesDeleted()).isEqualTo(DRIVEN_RIDES);
+        assertDeleted();
+    }
+
+    private void assertDeleted() {
+        assertThat(userRepository.existsById(user.getId())).isFalse();
+        assertThat(rideRepository.countByDriverId(user.getId())).isZero();
+        assertThat(rideRepository.findRideIdsByPassengerId(user.getId())).isEmpty();
+        assertThat(rideRepository.findRideIdsByPassengerId(other.getId())).isEmpty();
+
+        RideResponseDto joined = rideService.getRideById(joinedRideId);
+        assertThat(joined.seatsCount()).isEqualTo(4);
+        assertThat(joined.passengers()).isEmpty();
+    }
+}
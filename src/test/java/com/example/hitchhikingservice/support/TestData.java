@@ -0,0 +1,68 @@
+package com.example.hitchhikingservice.support;
+
+import com.example.hitchhikingservice.model.dto.request.GeoPointRequestDto;
+import com.example.hitchhikingservice.model.dto.request.RideRequestDto;
+import com.example.hitchhikingservice.model.entity.Ride;
+import com.example.hitchhikingservice.model.entity.Role;
+import com.example.hitchhikingservice.model.entity.User;
+import java.time.LocalDateTime;
+
+/**
+ * Unsaved users, rides and ride requests for tests. Rides go from Minsk to
+ * Brest in a car with four seats unless a factory says otherwise, and depart
+ * at {@link #DEPARTURE_TIME}, far enough ahead to stay out of the upcoming
+ * ride index.
+ */
+public final class TestData {
+
+    public static final LocalDateTime DEPARTURE_TIME = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+    private TestData() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static User user(String name) {
+        return user(name, "password");
+    }
+
+    public static User user(String name, String password) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword(password);
+        user.setRole(Role.USER);
+        return user;
+    }
+
+    public static Ride ride(User driver, LocalDateTime departureTime) {
+        Ride ride = new Ride();
+        ride.setDriver(driver);
+        ride.setCar("Car");
+        ride.setSeatsCount(4);
+        ride.setDeparture("Minsk");
+        ride.setDestination("Brest");
+        ride.setDepartureTime(departureTime);
+        return ride;
+    }
+
+    public static RideRequestDto rideRequest() {
+        return rideRequest("Car");
+    }
+
+    public static RideRequestDto rideRequest(String car) {
+        return rideRequest(car, 4, DEPARTURE_TIME);
+    }
+
+    public static RideRequestDto rideRequest(String car, int seats, LocalDateTime departureTime) {
+        return new RideRequestDto(car, seats, "Minsk", "Brest", departureTime, null, null, null);
+    }
+
+    public static RideRequestDto rideRequest(String departure, String destination, LocalDateTime departureTime) {
+        return new RideRequestDto("Car", 4, departure, destination, departureTime, null, null, null);
+    }
+
+    public static RideRequestDto rideRequest(GeoPointRequestDto departurePoint, GeoPointRequestDto destinationPoint) {
+        return new RideRequestDto("Car", 4, "Minsk", "Brest", DEPARTURE_TIME, null, departurePoint,
+                destinationPoint);
+    }
+}